@@ -0,0 +1,59 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ajkumarray.margdarshak.util.CommonFunctionHelper;
+
+/**
+ * Scaling of CommonFunctionHelper.generateAlphaNumericCode as more threads
+ * share one helper, and so one SecureRandom. Throughput is per thread; flat
+ * total throughput across the variants means the generator is serialised.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlphaNumericCodeBenchmark {
+
+    private static final int CODE_LENGTH = 8;
+
+    private CommonFunctionHelper commonFunctionHelper;
+
+    @Setup
+    public void setup() {
+        commonFunctionHelper = new CommonFunctionHelper();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String oneThread() {
+        return commonFunctionHelper.generateAlphaNumericCode(CODE_LENGTH);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String fourThreads() {
+        return commonFunctionHelper.generateAlphaNumericCode(CODE_LENGTH);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String sixteenThreads() {
+        return commonFunctionHelper.generateAlphaNumericCode(CODE_LENGTH);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ajkumarray.margdarshak.MargdarshakApplication;
+
+/**
+ * Boots the application without a web server for benchmarks that need the
+ * real persistence stack. Connection settings come from system properties,
+ * passed to the forked benchmark JVM with -jvmArgsAppend:
+ *
+ * <pre>
+ * -Dbenchmark.db.url=jdbc:postgresql://localhost:5432/margdarshak
+ * -Dbenchmark.db.username=postgres -Dbenchmark.db.password=postgres
+ * </pre>
+ */
+final class BenchmarkApplicationContext {
+
+    private BenchmarkApplicationContext() {
+        // Prevent instantiation
+    }
+
+    static ConfigurableApplicationContext start() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url",
+                System.getProperty("benchmark.db.url", "jdbc:postgresql://localhost:5432/margdarshak"));
+        properties.put("spring.datasource.username", System.getProperty("benchmark.db.username", "postgres"));
+        properties.put("spring.datasource.password", System.getProperty("benchmark.db.password", "postgres"));
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.sql.init.mode", "always");
+        properties.put("spring.jpa.defer-datasource-initialization", "true");
+        properties.put("spring.api", "/api/v1/");
+        properties.put("url.shortener.base-url", "http://localhost:8080/");
+        properties.put("url.shortener.code-secret", "benchmark-secret");
+        properties.put("url.batch.max-size", "100000");
+        properties.put("user.password.salt", "benchmark-salt");
+        properties.put("jwt.secret", "benchmark-jwt-secret-benchmark-jwt-secret");
+        properties.put("jwt.expiration", "3600");
+        properties.put("logging.level.root", "WARN");
+        return new SpringApplicationBuilder(MargdarshakApplication.class).web(WebApplicationType.NONE)
+                .properties(properties).run();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ajkumarray.margdarshak.analytics.ClickEvent;
+import com.ajkumarray.margdarshak.analytics.ClickEventRingBuffer;
+
+/**
+ * Cost of publishing a click from 8 redirect threads into the preallocated
+ * ring buffer versus an ArrayBlockingQueue of event objects, each with a
+ * background consumer draining it. Both drop when full. Run with -prof gc to
+ * compare allocation per publish.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ClickEventPublishBenchmark {
+
+    private static final int CAPACITY = 65536;
+
+    private ClickEventRingBuffer ringBuffer;
+
+    private ArrayBlockingQueue<ClickEvent> queue;
+
+    private volatile boolean running;
+
+    private final List<Thread> consumers = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        ringBuffer = new ClickEventRingBuffer(CAPACITY);
+        queue = new ArrayBlockingQueue<>(CAPACITY);
+        running = true;
+        consumers.add(Thread.ofPlatform().daemon().start(() -> {
+            while (running) {
+                ringBuffer.drain(slot -> {
+                }, 1000);
+            }
+        }));
+        consumers.add(Thread.ofPlatform().daemon().start(() -> {
+            List<ClickEvent> batch = new ArrayList<>(1000);
+            while (running) {
+                queue.drainTo(batch, 1000);
+                batch.clear();
+            }
+        }));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+    }
+
+    @Benchmark
+    public boolean ringBufferPublish() {
+        return ringBuffer.publish("abc123", System.currentTimeMillis(), "https://referrer.example/",
+                "Mozilla/5.0", "203.0.113.7", 0);
+    }
+
+    @Benchmark
+    public boolean blockingQueueOffer() {
+        return queue.offer(new ClickEvent("abc123", System.currentTimeMillis(), "https://referrer.example/",
+                "Mozilla/5.0", "203.0.113.7"));
+    }
+
+}
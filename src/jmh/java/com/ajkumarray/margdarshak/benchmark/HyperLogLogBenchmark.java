@@ -0,0 +1,81 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ajkumarray.margdarshak.analytics.HyperLogLog;
+import com.ajkumarray.margdarshak.util.StableHash;
+
+/**
+ * Per-click cost of the unique visitor sketch: hashing the visitor and
+ * offering the hash to a sketch already holding distinctVisitors visitors
+ * (sparse below about 4,000, dense above). Setup prints the estimate error and
+ * serialized size at that cardinality.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HyperLogLogBenchmark {
+
+    private static final int VISITOR_POOL = 1 << 16;
+
+    @Param({ "100", "1000", "100000" })
+    private int distinctVisitors;
+
+    private HyperLogLog sketch;
+
+    private String[] visitors;
+
+    private long[] hashes;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        sketch = new HyperLogLog();
+        for (int i = 0; i < distinctVisitors; i++) {
+            sketch.offerHash(StableHash.hash64("10.0." + (i >>> 8) + "." + (i & 0xff) + "\nbrowser-" + i));
+        }
+        double error = (sketch.estimate() - distinctVisitors) * 100.0 / distinctVisitors;
+        System.out.printf("%n%d visitors: estimate %d (%.2f%%), %d bytes serialized%n", distinctVisitors,
+                sketch.estimate(), error, sketch.toBytes().length);
+
+        visitors = new String[VISITOR_POOL];
+        hashes = new long[VISITOR_POOL];
+        for (int i = 0; i < VISITOR_POOL; i++) {
+            int visitor = i % distinctVisitors;
+            visitors[i] = "10.0." + (visitor >>> 8) + "." + (visitor & 0xff) + "\nbrowser-" + visitor;
+            hashes[i] = StableHash.hash64(visitors[i]);
+        }
+    }
+
+    @Benchmark
+    public long hashVisitor() {
+        return StableHash.hash64(visitors[next++ & (VISITOR_POOL - 1)]);
+    }
+
+    @Benchmark
+    public boolean offer() {
+        return sketch.offerHash(hashes[next++ & (VISITOR_POOL - 1)]);
+    }
+
+    @Benchmark
+    public boolean hashAndOffer() {
+        return sketch.offerHash(StableHash.hash64(visitors[next++ & (VISITOR_POOL - 1)]));
+    }
+
+}
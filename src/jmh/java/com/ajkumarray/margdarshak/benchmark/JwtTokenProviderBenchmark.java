@@ -0,0 +1,73 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ajkumarray.margdarshak.security.JwtTokenProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * JWT issue and validation cost. validateCached repeats one token, as a client
+ * reusing its token between requests does; validateUncached uses a provider
+ * whose verified-token cache holds nothing, so every call parses and checks
+ * the signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider cachingProvider;
+
+    private JwtTokenProvider uncachedProvider;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachingProvider = provider(50000);
+        uncachedProvider = provider(0);
+        token = "Bearer " + cachingProvider.generateToken("USR0001");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken("USR0001");
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return uncachedProvider.validateToken(token);
+    }
+
+    private static JwtTokenProvider provider(long cacheMaxEntries) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretKey", "benchmark-secret-benchmark-secret-benchmark");
+        ReflectionTestUtils.setField(provider, "expiration", 3600L);
+        ReflectionTestUtils.setField(provider, "cacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.setField(provider, "meterRegistry", new SimpleMeterRegistry());
+        provider.init();
+        return provider;
+    }
+
+}
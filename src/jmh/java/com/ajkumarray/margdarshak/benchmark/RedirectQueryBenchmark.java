@@ -0,0 +1,80 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
+import com.ajkumarray.margdarshak.repository.UrlRepository;
+import com.ajkumarray.margdarshak.service.UrlService;
+import com.ajkumarray.margdarshak.util.UrlHelper;
+
+/**
+ * Redirect lookup through the full entity versus the read-only destination
+ * projection, against a real PostgreSQL instance (see
+ * {@link BenchmarkApplicationContext}). Run with -prof gc to compare
+ * allocation per lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedirectQueryBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private UrlRepository urlRepository;
+
+    private UrlHelper urlHelper;
+
+    private String code;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplicationContext.start();
+        urlRepository = context.getBean(UrlRepository.class);
+        urlHelper = context.getBean(UrlHelper.class);
+
+        UrlMasterRequest request = new UrlMasterRequest();
+        request.setUrl("https://example.com/landing/page?utm_source=benchmark&utm_medium=jmh");
+        request.setExpirationDays(30);
+        request.setStatus(UrlStatusEnums.ACTIVE);
+        code = context.getBean(UrlService.class).createShortUrl(request, "benchmark").getCode();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String entityLookup() {
+        return urlRepository
+                .findByCodeAndStatusAndExpiresAtAfterAndDeleted(code, UrlStatusEnums.ACTIVE, LocalDateTime.now(),
+                        false)
+                .map(urlHelper::destinationOf).orElse(null);
+    }
+
+    @Benchmark
+    public String projectionLookup() {
+        return urlRepository.findRedirectTarget(code)
+                .map(target -> urlHelper.toDestination(target.getUrl(), target.getUrlCompressed(),
+                        target.getUrlFormat())).orElse(null);
+    }
+
+}
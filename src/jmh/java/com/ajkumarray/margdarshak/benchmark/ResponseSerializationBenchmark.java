@@ -0,0 +1,103 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+import com.ajkumarray.margdarshak.models.response.ObjectResponse;
+import com.ajkumarray.margdarshak.models.response.PagedResponse;
+import com.ajkumarray.margdarshak.models.response.UrlMasterResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of the response envelopes, with an ObjectMapper built
+ * the way Spring Boot builds its own: a single url detail wrapped in
+ * ObjectResponse, and a page of pageSize urls wrapped in PagedResponse and
+ * ObjectResponse as the listing endpoint returns it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private ObjectResponse detailResponse;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        detailResponse = envelope(url(0));
+    }
+
+    @Benchmark
+    public byte[] serializeDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detailResponse);
+    }
+
+    @Benchmark
+    public byte[] serializePage(Page page) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page.response);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({ "10", "100" })
+        private int pageSize;
+
+        private ObjectResponse response;
+
+        @Setup
+        public void setup() {
+            List<UrlMasterResponse> content = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                content.add(url(i));
+            }
+            response = envelope(new PagedResponse<>(content, 1000, 1000 / pageSize, 0, pageSize));
+        }
+    }
+
+    private static ObjectResponse envelope(Object payload) {
+        ObjectResponse response = new ObjectResponse();
+        response.setMessageCode("100");
+        response.setMessage("Success");
+        response.setList(payload);
+        return response;
+    }
+
+    private static UrlMasterResponse url(int i) {
+        UrlMasterResponse url = new UrlMasterResponse();
+        url.setId(i);
+        url.setCode("MDa1b2c" + i);
+        url.setShortUrl("https://md.example/MDa1b2c" + i);
+        url.setUrl("https://www.example.com/articles/2024/benchmarking-url-shorteners?page=" + i);
+        url.setCreatedAt(LocalDateTime.now().minusDays(3));
+        url.setExpiresAt(LocalDateTime.now().plusDays(27));
+        url.setClickCount(1234L + i);
+        url.setStatus(UrlStatusEnums.ACTIVE);
+        url.setLastAccessedAt(LocalDateTime.now());
+        url.setCreatedBy("USR0001");
+        return url;
+    }
+
+}
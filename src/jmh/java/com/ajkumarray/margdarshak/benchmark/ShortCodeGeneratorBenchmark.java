@@ -0,0 +1,70 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ajkumarray.margdarshak.shortcode.ShortCodeGenerator;
+import com.ajkumarray.margdarshak.util.CommonFunctionHelper;
+
+/**
+ * Compares the legacy random code generator (shared SecureRandom) with the
+ * block-leased permutation generator under multi-threaded contention. Block
+ * leases are served from memory with a simulated database round trip of
+ * leaseLatencyMicros.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ShortCodeGeneratorBenchmark {
+
+    @Param({ "0", "500" })
+    private long leaseLatencyMicros;
+
+    @Param({ "1000" })
+    private int blockSize;
+
+    private CommonFunctionHelper commonFunctionHelper;
+
+    private ShortCodeGenerator shortCodeGenerator;
+
+    @Setup
+    public void setup() {
+        commonFunctionHelper = new CommonFunctionHelper();
+        AtomicLong nextId = new AtomicLong();
+        shortCodeGenerator = new ShortCodeGenerator(size -> {
+            if (leaseLatencyMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(leaseLatencyMicros));
+            }
+            return nextId.getAndAdd(size);
+        }, "benchmark-secret", blockSize);
+    }
+
+    @Benchmark
+    public String legacyRandomCode() {
+        return commonFunctionHelper.generateAlphaNumericCode(8);
+    }
+
+    @Benchmark
+    public String blockLeasedCode() {
+        return shortCodeGenerator.nextCode();
+    }
+
+}
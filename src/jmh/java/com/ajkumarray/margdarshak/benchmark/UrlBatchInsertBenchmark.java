@@ -0,0 +1,87 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+import com.ajkumarray.margdarshak.models.request.UrlBatchRequest;
+import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
+import com.ajkumarray.margdarshak.models.response.UrlBatchResponse;
+import com.ajkumarray.margdarshak.service.UrlService;
+
+/**
+ * Time to create a whole batch of urls through the bulk endpoint's multi-row
+ * insert versus one createShortUrl call per url, against a real PostgreSQL
+ * instance (see {@link BenchmarkApplicationContext}). Each invocation inserts
+ * batchSize new rows; throughput in links/s is batchSize divided by the score.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlBatchInsertBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private UrlService urlService;
+
+    private UrlBatchRequest batch;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplicationContext.start();
+        urlService = context.getBean(UrlService.class);
+
+        List<UrlMasterRequest> urls = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            UrlMasterRequest request = new UrlMasterRequest();
+            request.setUrl("https://example.com/campaign/" + i + "?utm_source=benchmark&utm_medium=jmh");
+            request.setExpirationDays(30);
+            request.setStatus(UrlStatusEnums.ACTIVE);
+            urls.add(request);
+        }
+        batch = new UrlBatchRequest();
+        batch.setUrls(urls);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UrlBatchResponse batchInsert() {
+        return urlService.createShortUrls(batch, "benchmark");
+    }
+
+    @Benchmark
+    public int singleInserts() {
+        int created = 0;
+        for (UrlMasterRequest request : batch.getUrls()) {
+            urlService.createShortUrl(request, "benchmark");
+            created++;
+        }
+        return created;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ajkumarray.margdarshak.entity.UrlMasterEntity;
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+import com.ajkumarray.margdarshak.models.response.UrlMasterResponse;
+import com.ajkumarray.margdarshak.util.UrlCompressor;
+import com.ajkumarray.margdarshak.util.UrlHelper;
+
+/**
+ * Reading a destination back from each url_master storage format (legacy
+ * URLEncoder form, raw, dictionary-compressed), compressing one for storage,
+ * and the entity to response mapping that every read endpoint performs, for a
+ * plain URL, one with a long query string and one with non-ASCII characters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UrlHelperBenchmark {
+
+    @Param({ "plain", "query", "unicode" })
+    private String shape;
+
+    private UrlHelper urlHelper;
+
+    private String url;
+
+    private String encodedUrl;
+
+    private byte[] compressedUrl;
+
+    private UrlMasterEntity entity;
+
+    @Setup
+    public void setup() {
+        urlHelper = new UrlHelper();
+        ReflectionTestUtils.setField(urlHelper, "baseUrl", "https://md.example/");
+        ReflectionTestUtils.setField(urlHelper, "compressionEnabled", true);
+        ReflectionTestUtils.setField(urlHelper, "compressionMinLength", 0);
+        url = switch (shape) {
+        case "plain" -> "https://www.example.com/articles/2024/benchmarking-url-shorteners";
+        case "query" -> "https://shop.example.com/search?q=running+shoes&size=42&color=blue&sort=price_asc"
+                + "&utm_source=newsletter&utm_medium=email&utm_campaign=spring_sale&ref=abc123";
+        default -> "https://例え.jp/記事/ベンチマーク?名前=値&emoji=😀";
+        };
+        encodedUrl = urlHelper.encodeUrl(url);
+        compressedUrl = UrlCompressor.compress(url);
+
+        entity = new UrlMasterEntity();
+        entity.setId(42L);
+        entity.setCode("MDa1b2c3");
+        entity.setUrl(url);
+        entity.setUrlFormat(UrlFormatEnums.RAW);
+        entity.setCreatedAt(LocalDateTime.now().minusDays(3));
+        entity.setExpiresAt(LocalDateTime.now().plusDays(27));
+        entity.setClickCount(1234L);
+        entity.setStatus(UrlStatusEnums.ACTIVE);
+        entity.setLastAccessedAt(LocalDateTime.now());
+        entity.setCreatedBy("USR0001");
+    }
+
+    @Benchmark
+    public String encodeUrl() {
+        return urlHelper.encodeUrl(url);
+    }
+
+    @Benchmark
+    public String decodeUrl() {
+        return urlHelper.decodeUrl(encodedUrl);
+    }
+
+    @Benchmark
+    public String rawDestination() {
+        return urlHelper.toDestination(url, null, UrlFormatEnums.RAW);
+    }
+
+    @Benchmark
+    public String compressedDestination() {
+        return urlHelper.toDestination(null, compressedUrl, UrlFormatEnums.COMPRESSED);
+    }
+
+    @Benchmark
+    public byte[] compressForStorage() {
+        return urlHelper.compressForStorage(url);
+    }
+
+    @Benchmark
+    public UrlMasterResponse prepareUrlResponse() {
+        return urlHelper.prepareUrlResponse(entity);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.ajkumarray.margdarshak.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.ajkumarray.margdarshak.enums.ImportStatusEnums;
+import com.ajkumarray.margdarshak.models.response.UrlImportJobResponse;
+import com.ajkumarray.margdarshak.service.UrlImportService;
+
+/**
+ * End-to-end CSV import time (upload, validation, COPY and merge) against a
+ * real PostgreSQL instance (see {@link BenchmarkApplicationContext}). Every
+ * invocation imports a freshly generated file of unique codes; rows/s is rows divided by the score.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlImportBenchmark {
+
+    @Param({ "100000", "1000000" })
+    private int rows;
+
+    private final AtomicLong run = new AtomicLong(System.currentTimeMillis());
+
+    private ConfigurableApplicationContext context;
+
+    private UrlImportService urlImportService;
+
+    private MockMultipartFile file;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplicationContext.start();
+        urlImportService = context.getBean(UrlImportService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareFile() {
+        String prefix = "i" + Long.toString(run.incrementAndGet(), 36);
+        StringBuilder csv = new StringBuilder(rows * 80).append("code,url,expirationDays,status\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(prefix).append(i).append(",https://example.com/imported/").append(i).append(",30,ACTIVE\n");
+        }
+        file = new MockMultipartFile("file", "import.csv", "text/csv", csv.toString().getBytes());
+    }
+
+    @Benchmark
+    public UrlImportJobResponse importCsv() {
+        UrlImportJobResponse job = urlImportService.startImport("benchmark", file);
+        while (job.getStatus() == ImportStatusEnums.RUNNING) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            job = urlImportService.getImportJob("benchmark", job.getId());
+        }
+        return job;
+    }
+
+}
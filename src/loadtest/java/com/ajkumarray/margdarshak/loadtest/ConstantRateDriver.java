@@ -0,0 +1,144 @@
+package com.ajkumarray.margdarshak.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator: requests are scheduled at a constant arrival
+ * rate whether or not earlier ones have completed, and latency is measured
+ * from the scheduled start rather than the actual send. A slow server
+ * therefore shows up as queueing latency instead of quietly lowering the
+ * offered load (coordinated omission).
+ *
+ * Requests that cannot start because maxInFlight are already outstanding are
+ * counted as rejected, and rejections count as errors.
+ */
+final class ConstantRateDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String name;
+
+    private final double ratePerSecond;
+
+    private final HttpClient client;
+
+    private final Supplier<HttpRequest> requests;
+
+    private final IntPredicate success;
+
+    private final int maxInFlight;
+
+    private final Semaphore inFlight;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private Thread scheduler;
+
+    ConstantRateDriver(String name, double ratePerSecond, HttpClient client, Supplier<HttpRequest> requests,
+            IntPredicate success, int maxInFlight) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.client = client;
+        this.requests = requests;
+        this.success = success;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Starts issuing requests from a dedicated scheduler thread. Requests whose
+     * scheduled start falls before measureFromNanos are sent but not recorded.
+     */
+    void start(long measureFromNanos, long endNanos) {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        scheduler = Thread.ofPlatform().name("loadtest-" + name).start(() -> {
+            long startNanos = System.nanoTime();
+            for (long i = 0;; i++) {
+                long intended = startNanos + i * intervalNanos;
+                if (intended >= endNanos) {
+                    return;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                send(intended, intended >= measureFromNanos);
+            }
+        });
+    }
+
+    /**
+     * Waits for the scheduler to finish and for outstanding requests to drain.
+     *
+     * @return histogram of the measured requests, in nanoseconds
+     */
+    Histogram finish(long timeoutNanos) throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.join();
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (inFlight.availablePermits() < maxInFlight && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return recorder.getIntervalHistogram();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /** Measured requests that received a response or failed in transit. */
+    long getCompleted() {
+        return completed.sum();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    private void send(long intended, boolean measured) {
+        if (!inFlight.tryAcquire()) {
+            if (measured) {
+                rejected.increment();
+                errors.increment();
+            }
+            return;
+        }
+        client.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            inFlight.release();
+            if (!measured) {
+                return;
+            }
+            recorder.recordValue(Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS));
+            completed.increment();
+            if (error != null || !success.test(response.statusCode())) {
+                errors.increment();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.ajkumarray.margdarshak.loadtest;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+/**
+ * Collects the per-scenario histograms of a run, checks them against their
+ * SLOs and writes them out: one percentile distribution (.hgrm, values in
+ * milliseconds) per scenario, loadable by the HdrHistogram plotter, and a
+ * tagged histogram log (latency.hlog) with all scenarios for later
+ * comparison.
+ */
+final class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final List<Row> rows = new ArrayList<>();
+
+    void add(ConstantRateDriver driver, Histogram histogram, double measuredSeconds, double p99SloMillis,
+            double maxErrorRate) {
+        histogram.setTag(driver.getName());
+        rows.add(new Row(driver.getName(), histogram, driver.getCompleted() + driver.getRejected(), driver.getErrors(), measuredSeconds,
+                p99SloMillis, maxErrorRate));
+    }
+
+    /**
+     * Prints the summary table and writes the histogram files.
+     *
+     * @return true when every scenario met its SLO
+     */
+    boolean write(Path directory, PrintStream out) throws FileNotFoundException {
+        directory.toFile().mkdirs();
+        boolean passed = true;
+        out.println();
+        out.printf(Locale.ROOT, "%-10s %10s %8s %9s %9s %9s %9s %9s %9s  %s%n", "scenario", "requests", "errors",
+                "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "slo p99", "result");
+        try (PrintStream hlog = new PrintStream(directory.resolve("latency.hlog").toFile())) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(hlog);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputLegend();
+            for (Row row : rows) {
+                double p99 = row.histogram.getValueAtPercentile(99) / NANOS_PER_MILLI;
+                double errorRate = row.requests == 0 ? 1 : (double) row.errors / row.requests;
+                boolean met = row.requests > 0 && p99 <= row.p99SloMillis && errorRate <= row.maxErrorRate;
+                passed &= met;
+                out.printf(Locale.ROOT, "%-10s %10d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", row.name,
+                        row.requests, row.errors, row.requests / row.measuredSeconds,
+                        row.histogram.getValueAtPercentile(50) / NANOS_PER_MILLI, p99,
+                        row.histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                        row.histogram.getMaxValue() / NANOS_PER_MILLI, row.p99SloMillis, met ? "PASS" : "FAIL");
+                logWriter.outputIntervalHistogram(row.histogram);
+                try (PrintStream hgrm = new PrintStream(directory.resolve(row.name + ".hgrm").toFile())) {
+                    row.histogram.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+                }
+            }
+        }
+        out.println();
+        out.println("Histograms written to " + directory.toAbsolutePath());
+        return passed;
+    }
+
+    private record Row(String name, Histogram histogram, long requests, long errors, double measuredSeconds,
+            double p99SloMillis, double maxErrorRate) {
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.ajkumarray.margdarshak.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ajkumarray.margdarshak.MargdarshakApplication;
+import com.ajkumarray.margdarshak.cache.ShortCodeFilter;
+import com.ajkumarray.margdarshak.security.JwtTokenProvider;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * End-to-end load test. Starts PostgreSQL from the embedded binaries, boots
+ * the application against it on a random port, seeds url_master and drives
+ * redirects, url creation and url listing concurrently at constant arrival
+ * rates. Prints p50/p99/p99.9 per scenario, writes HdrHistogram files and
+ * exits with status 1 when a scenario misses its SLO.
+ *
+ * Settings are system properties, passed through loadtest.jvmArgs:
+ *
+ * <pre>
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.jvmArgs="-Xmx4g -Dloadtest.rows=5000000"
+ * </pre>
+ *
+ * loadtest.rows, loadtest.users, loadtest.zipf-theta, loadtest.warmup-seconds,
+ * loadtest.duration-seconds, loadtest.{redirect,create,list}-rate (requests
+ * per second), loadtest.slo.{redirect,create,list}-p99-ms,
+ * loadtest.slo.max-error-rate, loadtest.max-in-flight and loadtest.output-dir.
+ * Properties prefixed with loadtest.app. are passed to the application with
+ * the prefix removed, e.g. -Dloadtest.app.redirect.fast-path.enabled=true.
+ */
+public final class LoadTestRunner {
+
+    private static final String APP_PREFIX = "loadtest.app.";
+
+    private static final int TOKEN_USERS = 100;
+
+    private LoadTestRunner() {
+        // Prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        long rows = Long.getLong("loadtest.rows", 1_000_000);
+        int users = Integer.getInteger("loadtest.users", 10_000);
+        double theta = Double.parseDouble(System.getProperty("loadtest.zipf-theta", "0.99"));
+        long warmupSeconds = Long.getLong("loadtest.warmup-seconds", 15);
+        long durationSeconds = Long.getLong("loadtest.duration-seconds", 60);
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 5_000);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.001"));
+        Path outputDir = Path.of(System.getProperty("loadtest.output-dir", "target/loadtest"));
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().setServerConfig("max_connections", "300")
+                .start()) {
+            ConfigurableApplicationContext context = startApplication(postgres.getJdbcUrl("postgres", "postgres"));
+            boolean passed;
+            try {
+                ZipfianGenerator zipf = new ZipfianGenerator(rows, theta);
+                long seedStarted = System.nanoTime();
+                UrlSeeder.seed(context.getBean(DataSource.class), rows, users, zipf);
+                System.out.printf("Seeded %d urls in %d s%n", rows,
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStarted));
+                ShortCodeFilter shortCodeFilter = context.getBean(ShortCodeFilter.class);
+                while (!shortCodeFilter.rebuild()) {
+                    Thread.sleep(100);
+                }
+
+                JwtTokenProvider jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+                String[] tokens = new String[TOKEN_USERS];
+                for (int i = 0; i < TOKEN_USERS; i++) {
+                    tokens[i] = "Bearer " + jwtTokenProvider.generateToken(UrlSeeder.userFor(i, users));
+                }
+                String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                passed = run(base, zipf, tokens, warmupSeconds, durationSeconds, maxInFlight, maxErrorRate,
+                        outputDir);
+            } finally {
+                context.close();
+            }
+            if (!passed) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static boolean run(String base, ZipfianGenerator zipf, String[] tokens, long warmupSeconds,
+            long durationSeconds, int maxInFlight, double maxErrorRate, Path outputDir) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER).executor(Executors.newVirtualThreadPerTaskExecutor()).connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicLong created = new AtomicLong();
+
+        ConstantRateDriver redirect = new ConstantRateDriver("redirect", rate("redirect", 2000), client,
+                () -> HttpRequest.newBuilder(URI.create(base + "/" + UrlSeeder.codeFor(zipf.next()))).GET().build(),
+                status -> status == 302, maxInFlight);
+        ConstantRateDriver create = new ConstantRateDriver("create", rate("create", 50), client,
+                () -> HttpRequest.newBuilder(URI.create(base + "/api/v1/url"))
+                        .header("Authorization", randomToken(tokens)).header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"url\":\"https://example.com/created/"
+                                + created.incrementAndGet() + "\",\"status\":\"ACTIVE\",\"expirationDays\":30}"))
+                        .build(),
+                status -> status >= 200 && status < 300, maxInFlight);
+        ConstantRateDriver list = new ConstantRateDriver("list", rate("list", 20), client,
+                () -> HttpRequest.newBuilder(URI.create(base + "/api/v1/url?page=0&size=15"))
+                        .header("Authorization", randomToken(tokens)).GET().build(),
+                status -> status >= 200 && status < 300, maxInFlight);
+        List<ConstantRateDriver> drivers = List.of(redirect, create, list);
+
+        long now = System.nanoTime();
+        long measureFrom = now + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        System.out.printf("Warming up for %d s, then measuring for %d s%n", warmupSeconds, durationSeconds);
+        drivers.forEach(driver -> driver.start(measureFrom, end));
+
+        LatencyReport report = new LatencyReport();
+        for (ConstantRateDriver driver : drivers) {
+            report.add(driver, driver.finish(TimeUnit.SECONDS.toNanos(30)), durationSeconds,
+                    Double.parseDouble(System.getProperty("loadtest.slo." + driver.getName() + "-p99-ms",
+                            defaultSlo(driver.getName()))),
+                    maxErrorRate);
+        }
+        return report.write(outputDir, System.out);
+    }
+
+    private static ConfigurableApplicationContext startApplication(String jdbcUrl) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "postgres");
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.sql.init.mode", "always");
+        properties.put("spring.jpa.defer-datasource-initialization", "true");
+        properties.put("spring.api", "/api/v1/");
+        properties.put("url.shortener.base-url", "http://localhost/");
+        properties.put("url.shortener.code-secret", "loadtest-code-secret");
+        properties.put("user.password.salt", "loadtest-salt");
+        properties.put("jwt.secret", "loadtest-jwt-secret-loadtest-jwt-secret");
+        properties.put("jwt.expiration", "86400");
+        properties.put("logging.level.root", "WARN");
+        System.getProperties().stringPropertyNames().stream().filter(name -> name.startsWith(APP_PREFIX))
+                .forEach(name -> properties.put(name.substring(APP_PREFIX.length()), System.getProperty(name)));
+        return new SpringApplicationBuilder(MargdarshakApplication.class).properties(properties).run();
+    }
+
+    private static double rate(String scenario, double defaultRate) {
+        return Double.parseDouble(System.getProperty("loadtest." + scenario + "-rate", String.valueOf(defaultRate)));
+    }
+
+    private static String defaultSlo(String scenario) {
+        return switch (scenario) {
+        case "redirect" -> "25";
+        case "create" -> "100";
+        default -> "150";
+        };
+    }
+
+    private static String randomToken(String[] tokens) {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+
+}
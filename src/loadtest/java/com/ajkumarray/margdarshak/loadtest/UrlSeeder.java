@@ -0,0 +1,93 @@
+package com.ajkumarray.margdarshak.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Seeds url_master with one row per popularity rank through COPY. Codes are a
+ * bijective scramble of the rank, so hot links are spread across the table
+ * the way organically created links are, and every run seeds the same codes.
+ * Seeded click counts follow the same Zipfian distribution as the load.
+ */
+final class UrlSeeder {
+
+    private static final String COPY_SQL = "COPY url_master (code, url, url_format, expires_at, click_count, status, "
+            + "created_by, created_at, updated_at, deleted) FROM STDIN WITH (FORMAT csv)";
+
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private UrlSeeder() {
+        // Prevent instantiation
+    }
+
+    static String codeFor(long rank) {
+        return "LT" + Long.toUnsignedString(scramble(rank), 36);
+    }
+
+    static String userFor(long rank, int users) {
+        return "LTU" + (rank % users);
+    }
+
+    static void seed(DataSource dataSource, long rows, int users, ZipfianGenerator zipf)
+            throws SQLException, IOException {
+        String now = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        String expiresAt = LocalDateTime.now().plusYears(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        long totalClicks = rows * 100;
+        try (Connection connection = dataSource.getConnection()) {
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                StringBuilder chunk = new StringBuilder(FLUSH_BYTES + 1024);
+                for (long rank = 0; rank < rows; rank++) {
+                    String code = codeFor(rank);
+                    chunk.append(code).append(",https://example.com/landing/").append(rank)
+                            .append("?src=loadtest,RAW,").append(expiresAt).append(',')
+                            .append(Math.round(totalClicks * zipf.probability(rank))).append(",ACTIVE,")
+                            .append(userFor(rank, users)).append(',').append(now).append(',').append(now)
+                            .append(",false\n");
+                    if (chunk.length() >= FLUSH_BYTES) {
+                        write(copy, chunk);
+                    }
+                }
+                write(copy, chunk);
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE url_master");
+            }
+        }
+    }
+
+    private static void write(CopyIn copy, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    /**
+     * MurmurHash3 finaliser; a bijection on 64-bit values.
+     */
+    private static long scramble(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
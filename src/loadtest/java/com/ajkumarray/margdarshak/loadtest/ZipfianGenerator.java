@@ -0,0 +1,62 @@
+package com.ajkumarray.margdarshak.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipfian ranks in [0, items), rank 0 being the most popular, using the
+ * constant-time method of Gray et al. ("Quickly generating billion-record
+ * synthetic databases"), as in YCSB. Construction computes the generalised
+ * harmonic number once, in O(items).
+ */
+final class ZipfianGenerator {
+
+    private final long items;
+
+    private final double theta;
+
+    private final double alpha;
+
+    private final double zetaN;
+
+    private final double eta;
+
+    ZipfianGenerator(long items, double theta) {
+        if (items < 2 || theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("Zipfian needs at least 2 items and 0 < theta < 1");
+        }
+        this.items = items;
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zetaN = zeta(items, theta);
+        double zeta2 = zeta(2, theta);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN);
+    }
+
+    long next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return 1;
+        }
+        return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    /**
+     * @return share of all draws that land on the given rank
+     */
+    double probability(long rank) {
+        return 1.0 / Math.pow(rank + 1, theta) / zetaN;
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1.0 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free per-code click accumulator. Clicks are striped across a
+ * {@link LongAdder}; the latest access time is kept as a running maximum.
+ */
+class ClickAccumulator {
+
+    private final LongAdder clicks = new LongAdder();
+
+    private final AtomicLong lastAccessedMillis = new AtomicLong();
+
+    void record(long accessedMillis) {
+        clicks.increment();
+        if (accessedMillis > lastAccessedMillis.get()) {
+            lastAccessedMillis.accumulateAndGet(accessedMillis, Math::max);
+        }
+    }
+
+    void restore(long count, long accessedMillis) {
+        clicks.add(count);
+        lastAccessedMillis.accumulateAndGet(accessedMillis, Math::max);
+    }
+
+    /**
+     * Takes the clicks counted so far. Only the amount that was read is
+     * subtracted, so increments racing with the drain are kept for the next
+     * one.
+     *
+     * @return number of clicks drained
+     */
+    long drain() {
+        long count = clicks.sum();
+        if (count != 0) {
+            clicks.add(-count);
+        }
+        return count;
+    }
+
+    long getLastAccessedMillis() {
+        return lastAccessedMillis.get();
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.repository.ClickCountRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind click counter for url_master.click_count and last_accessed_at.
+ *
+ * Redirects only touch an in-memory accumulator. A scheduled flusher swaps the
+ * pending map for an empty one and writes the drained deltas in a single JDBC
+ * batch. The previous map is drained once more on the following flush, which
+ * picks up increments from redirects that were still holding a reference to it
+ * during the swap. Pending work is flushed on shutdown.
+ *
+ * The number of distinct codes per interval is bounded; clicks for new codes
+ * beyond that bound are dropped and counted rather than growing the heap.
+ */
+@Component
+public class ClickCounter {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final ClickCountRepository clickCountRepository;
+
+    private final int maxPendingCodes;
+
+    private final int flushBatchSize;
+
+    private volatile ConcurrentHashMap<String, ClickAccumulator> pending = new ConcurrentHashMap<>();
+
+    /** Map swapped out by the previous flush; only touched under flushLock. */
+    private ConcurrentHashMap<String, ClickAccumulator> retired = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /** Wall-clock time of the oldest click not yet written, 0 when none. */
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    private final Counter droppedCounter;
+
+    private final Counter flushedClicksCounter;
+
+    private final Counter flushFailureCounter;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final Timer flushTimer;
+
+    public ClickCounter(ClickCountRepository clickCountRepository, MeterRegistry meterRegistry,
+            @Value("${url.click.max-pending-codes:100000}") int maxPendingCodes,
+            @Value("${url.click.flush-batch-size:1000}") int flushBatchSize) {
+        this.clickCountRepository = clickCountRepository;
+        this.maxPendingCodes = maxPendingCodes;
+        this.flushBatchSize = flushBatchSize;
+
+        this.droppedCounter = Counter.builder("margdarshak.click.dropped")
+                .description("Clicks dropped because too many distinct codes were pending").register(meterRegistry);
+        this.flushedClicksCounter = Counter.builder("margdarshak.click.flushed")
+                .description("Clicks written to url_master").register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("margdarshak.click.flush.failures")
+                .description("Click flushes that failed and were re-queued").register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("margdarshak.click.flush.batch.size")
+                .description("Distinct codes written per click flush").register(meterRegistry);
+        this.flushTimer = Timer.builder("margdarshak.click.flush").description("Duration of click flushes")
+                .register(meterRegistry);
+        Gauge.builder("margdarshak.click.flush.lag", oldestPendingMillis,
+                oldest -> oldest.get() == 0 ? 0 : System.currentTimeMillis() - oldest.get())
+                .baseUnit("milliseconds").description("Age of the oldest click not yet written")
+                .register(meterRegistry);
+        Gauge.builder("margdarshak.click.pending.codes", this, counter -> counter.pending.size())
+                .description("Distinct codes with pending clicks").register(meterRegistry);
+    }
+
+    /**
+     * Records one redirect of the given code.
+     *
+     * @param code short url code
+     */
+    public void record(String code) {
+        long now = System.currentTimeMillis();
+        ConcurrentHashMap<String, ClickAccumulator> current = pending;
+        ClickAccumulator accumulator = current.get(code);
+        if (accumulator == null) {
+            if (current.size() >= maxPendingCodes) {
+                droppedCounter.increment();
+                return;
+            }
+            accumulator = current.computeIfAbsent(code, key -> new ClickAccumulator());
+        }
+        accumulator.record(now);
+        if (oldestPendingMillis.get() == 0) {
+            oldestPendingMillis.compareAndSet(0, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${url.click.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        // Second pass drains the map swapped out by the first one.
+        flush();
+    }
+
+    /**
+     * Drains pending clicks and writes them to the database. Failed batches are
+     * put back into the pending map and retried on the next flush.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            ConcurrentHashMap<String, ClickAccumulator> drained = pending;
+            pending = new ConcurrentHashMap<>();
+            long oldest = oldestPendingMillis.getAndSet(0);
+
+            Map<String, ClickDelta> deltas = new HashMap<>();
+            collect(retired, deltas);
+            collect(drained, deltas);
+            retired = drained;
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            List<ClickDelta> sorted = new ArrayList<>(deltas.values());
+            sorted.sort(Comparator.comparing(ClickDelta::getCode));
+            long started = System.nanoTime();
+            for (int from = 0; from < sorted.size(); from += flushBatchSize) {
+                List<ClickDelta> batch = sorted.subList(from, Math.min(from + flushBatchSize, sorted.size()));
+                try {
+                    clickCountRepository.incrementClicks(batch);
+                    batchSizeSummary.record(batch.size());
+                    flushedClicksCounter.increment(batch.stream().mapToLong(ClickDelta::getClicks).sum());
+                } catch (Exception e) {
+                    flushFailureCounter.increment();
+                    log.error("Click flush of {} codes failed: {}", batch.size(), e.getMessage());
+                    requeue(batch, oldest);
+                }
+            }
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void collect(Map<String, ClickAccumulator> source, Map<String, ClickDelta> deltas) {
+        source.forEach((code, accumulator) -> {
+            long clicks = accumulator.drain();
+            if (clicks == 0) {
+                return;
+            }
+            ClickDelta delta = deltas.get(code);
+            if (delta == null) {
+                deltas.put(code, new ClickDelta(code, clicks, accumulator.getLastAccessedMillis()));
+            } else {
+                delta.merge(clicks, accumulator.getLastAccessedMillis());
+            }
+        });
+    }
+
+    private void requeue(List<ClickDelta> batch, long oldest) {
+        ConcurrentHashMap<String, ClickAccumulator> current = pending;
+        for (ClickDelta delta : batch) {
+            current.computeIfAbsent(delta.getCode(), key -> new ClickAccumulator()).restore(delta.getClicks(),
+                    delta.getLastAccessedMillis());
+        }
+        if (oldest != 0) {
+            oldestPendingMillis.accumulateAndGet(oldest, (a, b) -> a == 0 ? b : Math.min(a, b));
+        }
+    }
+
+}
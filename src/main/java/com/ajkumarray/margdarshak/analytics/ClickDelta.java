@@ -0,0 +1,25 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Pending click count and latest access time for one short code, as written
+ * by a single flush.
+ */
+@Getter
+@AllArgsConstructor
+public class ClickDelta {
+
+    private final String code;
+
+    private long clicks;
+
+    private long lastAccessedMillis;
+
+    void merge(long moreClicks, long accessedMillis) {
+        this.clicks += moreClicks;
+        this.lastAccessedMillis = Math.max(this.lastAccessedMillis, accessedMillis);
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One redirect as written to click_event, with the client address already
+ * anonymised.
+ */
+@Getter
+@AllArgsConstructor
+public class ClickEvent {
+
+    private final String code;
+
+    private final long clickedAtMillis;
+
+    private final String referrer;
+
+    private final String userAgent;
+
+    private final String ipAddress;
+
+}
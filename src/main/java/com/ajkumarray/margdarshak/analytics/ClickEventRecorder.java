@@ -0,0 +1,242 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.enums.BackpressureEnums;
+import com.ajkumarray.margdarshak.repository.ClickEventRepository;
+import com.ajkumarray.margdarshak.util.StableHash;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-click analytics pipeline. The redirect path publishes into a
+ * {@link ClickEventRingBuffer}; a single consumer thread drains it, anonymises
+ * the client address and writes batches to click_event. The same thread feeds
+ * the {@link ClickRollupAggregator} and the {@link UniqueVisitorAggregator}.
+ *
+ * When the buffer is full, DROP discards the click and counts it, BLOCK waits
+ * up to block-timeout-ms for a slot before dropping. A batch that fails to
+ * write is dropped and counted, so a database outage cannot back up into
+ * redirects.
+ */
+@Component
+public class ClickEventRecorder {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private static final int MAX_HEADER_LENGTH = 512;
+
+    private final ClickEventRepository clickEventRepository;
+
+    private final ClickRollupAggregator clickRollupAggregator;
+
+    private final UniqueVisitorAggregator uniqueVisitorAggregator;
+
+    private final ClickEventRingBuffer ringBuffer;
+
+    private final boolean enabled;
+
+    private final long publishWaitNanos;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final Counter publishedCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter persistedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+
+    private Thread consumer;
+
+    public ClickEventRecorder(ClickEventRepository clickEventRepository,
+            ClickRollupAggregator clickRollupAggregator, UniqueVisitorAggregator uniqueVisitorAggregator,
+            MeterRegistry meterRegistry,
+            @Value("${url.click-events.enabled:true}") boolean enabled,
+            @Value("${url.click-events.capacity:65536}") int capacity,
+            @Value("${url.click-events.backpressure:DROP}") BackpressureEnums backpressure,
+            @Value("${url.click-events.block-timeout-ms:10}") long blockTimeoutMillis,
+            @Value("${url.click-events.batch-size:1000}") int batchSize,
+            @Value("${url.click-events.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.clickEventRepository = clickEventRepository;
+        this.clickRollupAggregator = clickRollupAggregator;
+        this.uniqueVisitorAggregator = uniqueVisitorAggregator;
+        this.ringBuffer = new ClickEventRingBuffer(capacity);
+        this.enabled = enabled;
+        this.publishWaitNanos = backpressure == BackpressureEnums.BLOCK
+                ? TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis)
+                : 0;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        this.publishedCounter = Counter.builder("margdarshak.click.events.published")
+                .description("Click events accepted into the ring buffer").register(meterRegistry);
+        this.droppedCounter = Counter.builder("margdarshak.click.events.dropped")
+                .description("Click events dropped because the ring buffer was full").register(meterRegistry);
+        this.persistedCounter = Counter.builder("margdarshak.click.events.persisted")
+                .description("Click events written to click_event").register(meterRegistry);
+        this.failedCounter = Counter.builder("margdarshak.click.events.failed")
+                .description("Click events lost to failed batch writes").register(meterRegistry);
+        this.batchTimer = Timer.builder("margdarshak.click.events.batch")
+                .description("Duration of click event batch writes").register(meterRegistry);
+        Gauge.builder("margdarshak.click.events.queue.depth", ringBuffer, ClickEventRingBuffer::depth)
+                .description("Click events waiting in the ring buffer").register(meterRegistry);
+        Gauge.builder("margdarshak.click.events.queue.capacity", ringBuffer, ClickEventRingBuffer::capacity)
+                .description("Ring buffer capacity").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        consumer = Thread.ofPlatform().name("click-event-writer").daemon().start(this::consume);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Records one redirect. Never blocks longer than the configured BLOCK
+     * timeout and never throws.
+     *
+     * @param code      short url code
+     * @param referrer  Referer header, may be null
+     * @param userAgent User-Agent header, may be null
+     * @param ipAddress client address, anonymised before it is stored
+     */
+    public void publish(String code, String referrer, String userAgent, String ipAddress) {
+        if (!enabled) {
+            return;
+        }
+        if (ringBuffer.publish(code, System.currentTimeMillis(), referrer, userAgent, ipAddress, publishWaitNanos)) {
+            publishedCounter.increment();
+        } else {
+            droppedCounter.increment();
+        }
+    }
+
+    private void consume() {
+        List<ClickEvent> batch = new ArrayList<>(batchSize);
+        Consumer<ClickEventRingBuffer.Slot> sink = slot -> batch.add(toEvent(slot));
+        long lastFlush = System.nanoTime();
+        while (running) {
+            int drained = ringBuffer.drain(sink, batchSize - batch.size());
+            if (batch.size() >= batchSize
+                    || (!batch.isEmpty() && System.nanoTime() - lastFlush >= flushIntervalNanos)) {
+                write(batch);
+                lastFlush = System.nanoTime();
+            }
+            clickRollupAggregator.flushIfDue();
+            uniqueVisitorAggregator.flushIfDue();
+            if (drained == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        // Shutting down: write whatever is still buffered.
+        int drained;
+        do {
+            drained = ringBuffer.drain(sink, batchSize - batch.size());
+            if (batch.size() >= batchSize) {
+                write(batch);
+            }
+        } while (drained > 0);
+        write(batch);
+        clickRollupAggregator.flush();
+        uniqueVisitorAggregator.flush();
+    }
+
+    private void write(List<ClickEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            clickEventRepository.insertAll(batch);
+            persistedCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Click event batch of {} failed: {}", batch.size(), e.getMessage());
+        } finally {
+            batchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+    }
+
+    private ClickEvent toEvent(ClickEventRingBuffer.Slot slot) {
+        clickRollupAggregator.record(slot.getCode(), slot.getClickedAtMillis());
+        if (slot.getIpAddress() != null) {
+            uniqueVisitorAggregator.record(slot.getCode(), slot.getClickedAtMillis(),
+                    visitorHash(slot.getIpAddress(), slot.getUserAgent()));
+        }
+        return new ClickEvent(slot.getCode(), slot.getClickedAtMillis(), truncate(slot.getReferrer()),
+                truncate(slot.getUserAgent()), anonymiseIp(slot.getIpAddress()));
+    }
+
+    private String truncate(String value) {
+        return value == null || value.length() <= MAX_HEADER_LENGTH ? value : value.substring(0, MAX_HEADER_LENGTH);
+    }
+
+    /**
+     * Identifies a visitor by client address and User-Agent, so clients behind
+     * one NAT address still count separately when their browsers differ.
+     */
+    static long visitorHash(String ipAddress, String userAgent) {
+        return StableHash.hash64(userAgent == null ? ipAddress : ipAddress + '\n' + userAgent);
+    }
+
+    /**
+     * Drops the host part of the address: the last octet of an IPv4 address,
+     * everything after the /48 prefix of an IPv6 address.
+     */
+    static String anonymiseIp(String ipAddress) {
+        if (ipAddress == null || ipAddress.isEmpty()) {
+            return null;
+        }
+        if (ipAddress.indexOf(':') < 0) {
+            int lastDot = ipAddress.lastIndexOf('.');
+            return lastDot < 0 ? null : ipAddress.substring(0, lastDot) + ".0";
+        }
+        try {
+            // Literal addresses are parsed without a DNS lookup.
+            byte[] address = InetAddress.getByName(ipAddress).getAddress();
+            // IPv4-mapped literals come back as 4-byte IPv4 addresses.
+            for (int i = address.length == 4 ? 3 : 6; i < address.length; i++) {
+                address[i] = 0;
+            }
+            return InetAddress.getByAddress(address).getHostAddress();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated click slots.
+ *
+ * Producers claim a sequence with a CAS on the claim cursor, fill the slot for
+ * that sequence and publish it with a volatile write of the sequence into the
+ * slot; only the claiming producer ever writes a slot until the consumer has
+ * released it. The consumer reads slots in sequence order up to the first one
+ * not yet published, then advances its cursor, which frees those slots for
+ * reuse. Publishing allocates nothing and takes no lock.
+ */
+public final class ClickEventRingBuffer {
+
+    private final Slot[] slots;
+
+    private final int mask;
+
+    /** Next sequence to hand to a producer. */
+    private final AtomicLong claimCursor = new AtomicLong();
+
+    /** Next sequence the consumer will read; everything below it is free. */
+    private final AtomicLong consumeCursor = new AtomicLong();
+
+    public ClickEventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two");
+        }
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Publishes one click, waiting up to maxWaitNanos for a free slot.
+     *
+     * @return false when the buffer stayed full for the whole wait
+     */
+    public boolean publish(String code, long clickedAtMillis, String referrer, String userAgent, String ipAddress,
+            long maxWaitNanos) {
+        long sequence = claim(maxWaitNanos);
+        if (sequence < 0) {
+            return false;
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.code = code;
+        slot.clickedAtMillis = clickedAtMillis;
+        slot.referrer = referrer;
+        slot.userAgent = userAgent;
+        slot.ipAddress = ipAddress;
+        slot.published = sequence;
+        return true;
+    }
+
+    private long claim(long maxWaitNanos) {
+        long deadline = 0;
+        while (true) {
+            long sequence = claimCursor.get();
+            if (sequence - consumeCursor.get() < slots.length) {
+                if (claimCursor.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                continue;
+            }
+            if (maxWaitNanos <= 0) {
+                return -1;
+            }
+            long now = System.nanoTime();
+            if (deadline == 0) {
+                deadline = now + maxWaitNanos;
+            } else if (now - deadline >= 0) {
+                return -1;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+    }
+
+    /**
+     * Hands up to max published clicks, in order, to the sink and frees their
+     * slots. Must only be called from the single consumer thread. Slot contents
+     * are only valid during the sink call.
+     *
+     * @return number of clicks drained
+     */
+    public int drain(Consumer<Slot> sink, int max) {
+        long next = consumeCursor.get();
+        int drained = 0;
+        while (drained < max) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.published != next) {
+                break;
+            }
+            sink.accept(slot);
+            slot.code = null;
+            slot.referrer = null;
+            slot.userAgent = null;
+            slot.ipAddress = null;
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumeCursor.set(next);
+        }
+        return drained;
+    }
+
+    /**
+     * @return claimed but not yet consumed slots
+     */
+    public long depth() {
+        return Math.max(0, claimCursor.get() - consumeCursor.get());
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * A reusable click slot. Fields are written by the claiming producer before
+     * the volatile publish and read by the consumer after observing it.
+     */
+    public static final class Slot {
+
+        private volatile long published = -1;
+
+        private String code;
+
+        private long clickedAtMillis;
+
+        private String referrer;
+
+        private String userAgent;
+
+        private String ipAddress;
+
+        public String getCode() {
+            return code;
+        }
+
+        public long getClickedAtMillis() {
+            return clickedAtMillis;
+        }
+
+        public String getReferrer() {
+            return referrer;
+        }
+
+        public String getUserAgent() {
+            return userAgent;
+        }
+
+        public String getIpAddress() {
+            return ipAddress;
+        }
+    }
+
+}
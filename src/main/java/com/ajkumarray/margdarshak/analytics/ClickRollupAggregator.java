@@ -0,0 +1,162 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
+import com.ajkumarray.margdarshak.repository.ClickRollupRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Incremental minute/hour/day click rollups, fed with every persisted click
+ * event.
+ *
+ * Clicks are counted in memory per code and minute. A flush derives the hour
+ * and day buckets from the minute counts and adds all three to
+ * url_click_rollup with one batched upsert, so every click costs one map
+ * increment and every bucket one row write per flush interval.
+ *
+ * Not thread-safe: confined to the click event writer thread, which calls
+ * {@link #record} and {@link #flushIfDue}. Buckets use the JVM time zone, like
+ * every other timestamp in url_master.
+ */
+@Component
+public class ClickRollupAggregator {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final ClickRollupRepository clickRollupRepository;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final long flushIntervalNanos;
+
+    private final int maxPendingBuckets;
+
+    private final int flushBatchSize;
+
+    private Map<MinuteKey, long[]> pending = new HashMap<>();
+
+    /** Deltas of a failed flush, retried with the next one. */
+    private Map<ClickRollupDelta, ClickRollupDelta> failed = new HashMap<>();
+
+    private long lastFlushNanos = System.nanoTime();
+
+    private final Counter droppedCounter;
+
+    private final Counter flushFailureCounter;
+
+    private final Timer flushTimer;
+
+    public ClickRollupAggregator(ClickRollupRepository clickRollupRepository, MeterRegistry meterRegistry,
+            @Value("${url.stats.flush-interval-ms:10000}") long flushIntervalMillis,
+            @Value("${url.stats.max-pending-buckets:200000}") int maxPendingBuckets,
+            @Value("${url.stats.flush-batch-size:1000}") int flushBatchSize) {
+        this.clickRollupRepository = clickRollupRepository;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxPendingBuckets = maxPendingBuckets;
+        this.flushBatchSize = flushBatchSize;
+
+        this.droppedCounter = Counter.builder("margdarshak.stats.rollup.dropped")
+                .description("Clicks left out of rollups because too many buckets were pending")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("margdarshak.stats.rollup.flush.failures")
+                .description("Rollup flushes that failed and were retried").register(meterRegistry);
+        this.flushTimer = Timer.builder("margdarshak.stats.rollup.flush").description("Duration of rollup flushes")
+                .register(meterRegistry);
+    }
+
+    void record(String code, long clickedAtMillis) {
+        MinuteKey key = new MinuteKey(code, Math.floorDiv(clickedAtMillis, MILLIS_PER_MINUTE));
+        long[] count = pending.get(key);
+        if (count == null) {
+            if (pending.size() >= maxPendingBuckets) {
+                droppedCounter.increment();
+                return;
+            }
+            count = new long[1];
+            pending.put(key, count);
+        }
+        count[0]++;
+    }
+
+    void flushIfDue() {
+        if (System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    void flush() {
+        lastFlushNanos = System.nanoTime();
+        Map<ClickRollupDelta, ClickRollupDelta> deltas = failed;
+        failed = new HashMap<>();
+        pending.forEach((key, count) -> {
+            LocalDateTime minute = LocalDateTime.ofInstant(Instant.ofEpochMilli(key.epochMinute * MILLIS_PER_MINUTE),
+                    zone);
+            add(deltas, key.code, StatsGranularityEnums.MINUTE, minute, count[0]);
+            add(deltas, key.code, StatsGranularityEnums.HOUR, minute.truncatedTo(StatsGranularityEnums.HOUR.getUnit()),
+                    count[0]);
+            add(deltas, key.code, StatsGranularityEnums.DAY, minute.truncatedTo(StatsGranularityEnums.DAY.getUnit()),
+                    count[0]);
+        });
+        pending = new HashMap<>();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<ClickRollupDelta> sorted = new ArrayList<>(deltas.keySet());
+        Collections.sort(sorted);
+        long started = System.nanoTime();
+        for (int from = 0; from < sorted.size(); from += flushBatchSize) {
+            List<ClickRollupDelta> batch = sorted.subList(from, Math.min(from + flushBatchSize, sorted.size()));
+            try {
+                clickRollupRepository.addClicks(batch);
+            } catch (Exception e) {
+                flushFailureCounter.increment();
+                log.error("Click rollup flush of {} buckets failed: {}", batch.size(), e.getMessage());
+                if (failed.size() < maxPendingBuckets) {
+                    batch.forEach(delta -> failed.put(delta, delta));
+                }
+            }
+        }
+        flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void add(Map<ClickRollupDelta, ClickRollupDelta> deltas, String code,
+            StatsGranularityEnums granularity, LocalDateTime bucketStart, long clicks) {
+        ClickRollupDelta delta = new ClickRollupDelta(code, granularity, bucketStart, clicks);
+        ClickRollupDelta existing = deltas.putIfAbsent(delta, delta);
+        if (existing != null) {
+            existing.add(clicks);
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class MinuteKey {
+
+        private final String code;
+
+        private final long epochMinute;
+    }
+
+}
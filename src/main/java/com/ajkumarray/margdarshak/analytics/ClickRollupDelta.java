@@ -0,0 +1,45 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.time.LocalDateTime;
+
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Clicks to add to one rollup bucket. Equality covers the bucket only, so
+ * deltas for the same bucket can be merged by key.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode(of = { "code", "granularity", "bucketStart" })
+public class ClickRollupDelta implements Comparable<ClickRollupDelta> {
+
+    private final String code;
+
+    private final StatsGranularityEnums granularity;
+
+    private final LocalDateTime bucketStart;
+
+    private long clicks;
+
+    void add(long moreClicks) {
+        this.clicks += moreClicks;
+    }
+
+    /**
+     * Orders deltas by bucket key so that concurrent upserts from several nodes
+     * lock rows in the same order.
+     */
+    @Override
+    public int compareTo(ClickRollupDelta other) {
+        int result = code.compareTo(other.code);
+        if (result == 0) {
+            result = granularity.compareTo(other.granularity);
+        }
+        return result != 0 ? result : bucketStart.compareTo(other.bucketStart);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
+import com.ajkumarray.margdarshak.repository.ClickRollupRepository;
+import com.ajkumarray.margdarshak.repository.UniqueVisitorRepository;
+
+/**
+ * Deletes rollup buckets past their granularity's retention, and daily unique
+ * visitor sketches past the DAY retention, in bounded batches so the purge
+ * never holds long locks.
+ */
+@Component
+public class ClickRollupRetention {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final ClickRollupRepository clickRollupRepository;
+
+    private final UniqueVisitorRepository uniqueVisitorRepository;
+
+    private final Map<StatsGranularityEnums, Long> retentionDays = new EnumMap<>(StatsGranularityEnums.class);
+
+    private final int batchSize;
+
+    public ClickRollupRetention(ClickRollupRepository clickRollupRepository,
+            UniqueVisitorRepository uniqueVisitorRepository,
+            @Value("${url.stats.retention.minute-days:7}") long minuteDays,
+            @Value("${url.stats.retention.hour-days:90}") long hourDays,
+            @Value("${url.stats.retention.day-days:1825}") long dayDays,
+            @Value("${url.stats.retention.batch-size:10000}") int batchSize) {
+        this.clickRollupRepository = clickRollupRepository;
+        this.uniqueVisitorRepository = uniqueVisitorRepository;
+        this.retentionDays.put(StatsGranularityEnums.MINUTE, minuteDays);
+        this.retentionDays.put(StatsGranularityEnums.HOUR, hourDays);
+        this.retentionDays.put(StatsGranularityEnums.DAY, dayDays);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${url.stats.retention.interval-ms:3600000}",
+            initialDelayString = "${url.stats.retention.interval-ms:3600000}")
+    public void purge() {
+        retentionDays.forEach((granularity, days) -> {
+            LocalDateTime cutOff = LocalDateTime.now().minusDays(days);
+            long purged = 0;
+            try {
+                int deleted;
+                do {
+                    deleted = clickRollupRepository.purgeBefore(granularity, cutOff, batchSize);
+                    purged += deleted;
+                } while (deleted == batchSize);
+            } catch (Exception e) {
+                log.error("Click rollup purge of {} buckets failed: {}", granularity, e.getMessage());
+            }
+            if (purged > 0) {
+                log.info("Purged {} {} click rollup buckets older than {}", purged, granularity, cutOff);
+            }
+        });
+        purgeVisitorSketches();
+    }
+
+    private void purgeVisitorSketches() {
+        LocalDate cutOff = LocalDate.now().minusDays(retentionDays.get(StatsGranularityEnums.DAY));
+        long purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = uniqueVisitorRepository.purgeDailyBefore(cutOff, batchSize);
+                purged += deleted;
+            } while (deleted == batchSize);
+        } catch (Exception e) {
+            log.error("Unique visitor sketch purge failed: {}", e.getMessage());
+        }
+        if (purged > 0) {
+            log.info("Purged {} daily unique visitor sketches older than {}", purged, cutOff);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A short code among the most redirected ones, with its estimated hits in the
+ * current window.
+ */
+@Getter
+@AllArgsConstructor
+public class HotLink {
+
+    private final String code;
+
+    private final long hits;
+
+}
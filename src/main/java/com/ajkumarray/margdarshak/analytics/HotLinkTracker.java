@@ -0,0 +1,162 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.cache.RedirectCache;
+import com.ajkumarray.margdarshak.util.StableHash;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Streaming top-K of the most redirected short codes over a sliding window.
+ *
+ * Every redirect adds one hit to a {@link WindowedCountMinSketch}. Codes whose
+ * estimate reaches the smallest count in the current top-K become candidates;
+ * a scheduled refresh ranks the candidates through a size-K min-heap, keeps
+ * the winners and forgets the rest. The redirect path therefore costs a hash,
+ * depth atomic adds, one estimate and a set lookup, and never takes a lock.
+ *
+ * When pinning is enabled the current top-K is handed to the
+ * {@link RedirectCache}, which stops evicting those entries by size.
+ */
+@Component
+public class HotLinkTracker {
+
+    private final WindowedCountMinSketch sketch;
+
+    private final RedirectCache redirectCache;
+
+    private final boolean enabled;
+
+    private final int topK;
+
+    private final int maxCandidates;
+
+    private final boolean pinInCache;
+
+    private final long subWindowMillis;
+
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+
+    private volatile long floor;
+
+    private volatile List<HotLink> hotLinks = List.of();
+
+    private long lastRotationMillis = System.currentTimeMillis();
+
+    public HotLinkTracker(RedirectCache redirectCache, MeterRegistry meterRegistry,
+            @Value("${redirect.hotlinks.enabled:true}") boolean enabled,
+            @Value("${redirect.hotlinks.top-k:100}") int topK,
+            @Value("${redirect.hotlinks.sketch-depth:4}") int depth,
+            @Value("${redirect.hotlinks.sketch-width:4096}") int width,
+            @Value("${redirect.hotlinks.window-seconds:60}") long windowSeconds,
+            @Value("${redirect.hotlinks.sub-windows:6}") int subWindows,
+            @Value("${redirect.hotlinks.pin-in-cache:true}") boolean pinInCache) {
+        this.redirectCache = redirectCache;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.maxCandidates = topK * 10;
+        this.pinInCache = pinInCache;
+        // One extra sub-window absorbs the partially filled current one.
+        this.sketch = new WindowedCountMinSketch(depth, width, subWindows + 1);
+        this.subWindowMillis = TimeUnit.SECONDS.toMillis(windowSeconds) / subWindows;
+
+        Gauge.builder("margdarshak.hotlinks.window.hits", sketch, WindowedCountMinSketch::total)
+                .description("Redirects counted in the hot link window").register(meterRegistry);
+        Gauge.builder("margdarshak.hotlinks.floor", this, tracker -> tracker.floor)
+                .description("Estimated hits of the least popular tracked hot link").register(meterRegistry);
+    }
+
+    /**
+     * Counts one redirect of the code.
+     *
+     * @param code short url code
+     */
+    public void record(String code) {
+        if (!enabled) {
+            return;
+        }
+        long hash = StableHash.hash64(code);
+        sketch.add(hash);
+        if (sketch.estimate(hash) >= floor && !candidates.contains(code) && candidates.size() < maxCandidates) {
+            candidates.add(code);
+        }
+    }
+
+    /**
+     * @return current top-K, most redirected first
+     */
+    public List<HotLink> getHotLinks() {
+        return hotLinks;
+    }
+
+    @Scheduled(fixedDelayString = "${redirect.hotlinks.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastRotationMillis >= subWindowMillis) {
+            sketch.rotate();
+            lastRotationMillis = now;
+        }
+
+        PriorityQueue<HotLink> heap = new PriorityQueue<>(topK + 1, Comparator.comparingLong(HotLink::getHits));
+        for (String code : candidates) {
+            long hits = sketch.estimate(StableHash.hash64(code));
+            if (hits == 0) {
+                continue;
+            }
+            if (heap.size() < topK) {
+                heap.add(new HotLink(code, hits));
+            } else if (hits > heap.peek().getHits()) {
+                heap.poll();
+                heap.add(new HotLink(code, hits));
+            }
+        }
+        floor = heap.size() < topK ? 0 : heap.peek().getHits();
+
+        List<HotLink> ranked = new ArrayList<>(heap);
+        ranked.sort(Comparator.comparingLong(HotLink::getHits).reversed());
+        Set<String> winners = new HashSet<>();
+        ranked.forEach(link -> winners.add(link.getCode()));
+        candidates.retainAll(winners);
+        hotLinks = List.copyOf(ranked);
+        if (pinInCache) {
+            redirectCache.pin(winners);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public long getWindowSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(subWindowMillis * (sketch.getWindows() - 1));
+    }
+
+    public long getWindowHits() {
+        return sketch.total();
+    }
+
+    public WindowedCountMinSketch getSketch() {
+        return sketch;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.cache.RedirectCache;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Actuator endpoint listing the most redirected short codes of the current
+ * window (GET /actuator/hotlinks). Admin only, since it reveals other users'
+ * links and their traffic.
+ */
+@Component
+@Endpoint(id = "hotlinks")
+@AllArgsConstructor
+public class HotLinksEndpoint {
+
+    private final HotLinkTracker hotLinkTracker;
+
+    private final RedirectCache redirectCache;
+
+    @ReadOperation
+    public Map<String, Object> hotLinks() {
+        WindowedCountMinSketch sketch = hotLinkTracker.getSketch();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", hotLinkTracker.isEnabled());
+        status.put("topK", hotLinkTracker.getTopK());
+        status.put("windowSeconds", hotLinkTracker.getWindowSeconds());
+        status.put("windowHits", hotLinkTracker.getWindowHits());
+        status.put("sketchDepth", sketch.getDepth());
+        status.put("sketchWidth", sketch.getWidth());
+        status.put("overcountBound", sketch.errorRate() * hotLinkTracker.getWindowHits());
+        status.put("overcountProbability", sketch.failureProbability());
+        status.put("pinnedInCache", redirectCache.getPinnedCount());
+        status.put("links", hotLinkTracker.getHotLinks());
+        return status;
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-count sketch with 2^14 six-bit registers.
+ *
+ * Standard error is 1.04 / sqrt(16384), about 0.81%: roughly 68% of estimates
+ * fall within 0.81% of the true count, 95% within 1.6% and 99.7% within 2.4%.
+ * Below about 40,000 distinct values linear counting is used, which is close
+ * to exact for small counts.
+ *
+ * Sketches start sparse, holding only the non-zero registers, and switch to a
+ * dense register array once that is smaller. The serialized form is sparse (3
+ * bytes per non-zero register) or dense (registers packed into 6 bits, 12 KB),
+ * whichever is shorter. Sketches merge by taking the register-wise maximum,
+ * so merging the sketches of several nodes or days gives the sketch of the
+ * union.
+ *
+ * Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    private static final int PRECISION = 14;
+
+    private static final int REGISTERS = 1 << PRECISION;
+
+    private static final int DENSE_BYTES = REGISTERS * 6 / 8;
+
+    /** Sparse entries beyond which the dense array is the cheaper form, in memory and serialized. */
+    private static final int SPARSE_LIMIT = DENSE_BYTES / 3;
+
+    private static final byte FORMAT_SPARSE = 1;
+
+    private static final byte FORMAT_DENSE = 2;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    /** Sorted (index << 6 | value) entries while sparse, null once dense. */
+    private int[] sparse = new int[8];
+
+    private int sparseSize;
+
+    private byte[] dense;
+
+    /**
+     * Adds a 64-bit hash of a value. The top 14 bits pick the register; the
+     * register keeps the longest run of leading zeros seen in the rest.
+     *
+     * @return true when the sketch changed
+     */
+    public boolean offerHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        return setMax(index, rank);
+    }
+
+    /**
+     * Folds another sketch into this one.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.dense != null) {
+            for (int i = 0; i < REGISTERS; i++) {
+                if (other.dense[i] != 0) {
+                    setMax(i, other.dense[i]);
+                }
+            }
+        } else {
+            for (int i = 0; i < other.sparseSize; i++) {
+                setMax(other.sparse[i] >>> 6, other.sparse[i] & 0x3f);
+            }
+        }
+    }
+
+    /**
+     * @return estimated number of distinct values offered
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        if (dense != null) {
+            for (int i = 0; i < REGISTERS; i++) {
+                sum += Math.scalb(1.0, -dense[i]);
+                zeros += dense[i] == 0 ? 1 : 0;
+            }
+        } else {
+            zeros = REGISTERS - sparseSize;
+            sum = zeros;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += Math.scalb(1.0, -(sparse[i] & 0x3f));
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        return dense == null && sparseSize == 0;
+    }
+
+    public byte[] toBytes() {
+        if (dense == null) {
+            byte[] bytes = new byte[1 + sparseSize * 3];
+            bytes[0] = FORMAT_SPARSE;
+            for (int i = 0; i < sparseSize; i++) {
+                int entry = sparse[i];
+                bytes[1 + i * 3] = (byte) (entry >>> 16);
+                bytes[2 + i * 3] = (byte) (entry >>> 8);
+                bytes[3 + i * 3] = (byte) entry;
+            }
+            return bytes;
+        }
+        byte[] bytes = new byte[1 + DENSE_BYTES];
+        bytes[0] = FORMAT_DENSE;
+        for (int i = 0; i < REGISTERS; i += 4) {
+            int packed = dense[i] << 18 | dense[i + 1] << 12 | dense[i + 2] << 6 | dense[i + 3];
+            int offset = 1 + i / 4 * 3;
+            bytes[offset] = (byte) (packed >>> 16);
+            bytes[offset + 1] = (byte) (packed >>> 8);
+            bytes[offset + 2] = (byte) packed;
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        if (bytes[0] == FORMAT_SPARSE) {
+            for (int offset = 1; offset + 2 < bytes.length; offset += 3) {
+                int entry = (bytes[offset] & 0xff) << 16 | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff);
+                sketch.setMax(entry >>> 6, entry & 0x3f);
+            }
+        } else if (bytes[0] == FORMAT_DENSE && bytes.length == 1 + DENSE_BYTES) {
+            sketch.toDense();
+            for (int i = 0; i < REGISTERS; i += 4) {
+                int offset = 1 + i / 4 * 3;
+                int packed = (bytes[offset] & 0xff) << 16 | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff);
+                sketch.dense[i] = (byte) (packed >>> 18 & 0x3f);
+                sketch.dense[i + 1] = (byte) (packed >>> 12 & 0x3f);
+                sketch.dense[i + 2] = (byte) (packed >>> 6 & 0x3f);
+                sketch.dense[i + 3] = (byte) (packed & 0x3f);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown HyperLogLog format " + bytes[0]);
+        }
+        return sketch;
+    }
+
+    private boolean setMax(int index, int rank) {
+        if (dense != null) {
+            if (dense[index] >= rank) {
+                return false;
+            }
+            dense[index] = (byte) rank;
+            return true;
+        }
+        int position = Arrays.binarySearch(sparse, 0, sparseSize, index << 6);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        if (position < sparseSize && sparse[position] >>> 6 == index) {
+            if ((sparse[position] & 0x3f) >= rank) {
+                return false;
+            }
+            sparse[position] = index << 6 | rank;
+            return true;
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            return setMax(index, rank);
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, SPARSE_LIMIT));
+        }
+        System.arraycopy(sparse, position, sparse, position + 1, sparseSize - position);
+        sparse[position] = index << 6 | rank;
+        sparseSize++;
+        return true;
+    }
+
+    private void toDense() {
+        dense = new byte[REGISTERS];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> 6] = (byte) (sparse[i] & 0x3f);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ajkumarray.margdarshak.repository.UniqueVisitorRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Approximate unique visitors per code, all-time and per day, kept as
+ * {@link HyperLogLog} sketches.
+ *
+ * A visitor is the hash of the client address and User-Agent, taken before
+ * the address is anonymised; neither is stored. Each flush interval the
+ * in-memory sketches are merged into the stored ones, locked in key order so
+ * nodes flushing the same codes serialise rather than overwrite each other.
+ * Merging is idempotent, so a failed flush is simply retried with the next
+ * one.
+ *
+ * Not thread-safe: confined to the click event writer thread, like
+ * {@link ClickRollupAggregator}. Days use the JVM time zone.
+ */
+@Component
+public class UniqueVisitorAggregator {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final UniqueVisitorRepository uniqueVisitorRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final long flushIntervalNanos;
+
+    private final int maxPendingSketches;
+
+    private final int flushBatchSize;
+
+    private Map<String, HyperLogLog> totals = new HashMap<>();
+
+    private Map<VisitorSketchKey, HyperLogLog> daily = new HashMap<>();
+
+    private LocalDate currentDay;
+
+    private long currentDayStartMillis;
+
+    private long currentDayEndMillis;
+
+    private long lastFlushNanos = System.nanoTime();
+
+    private final Counter droppedCounter;
+
+    private final Counter flushFailureCounter;
+
+    private final Timer flushTimer;
+
+    public UniqueVisitorAggregator(UniqueVisitorRepository uniqueVisitorRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${url.stats.flush-interval-ms:10000}") long flushIntervalMillis,
+            @Value("${url.stats.visitors.max-pending-sketches:20000}") int maxPendingSketches,
+            @Value("${url.stats.visitors.flush-batch-size:200}") int flushBatchSize) {
+        this.uniqueVisitorRepository = uniqueVisitorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxPendingSketches = maxPendingSketches;
+        this.flushBatchSize = flushBatchSize;
+
+        this.droppedCounter = Counter.builder("margdarshak.stats.visitors.dropped")
+                .description("Clicks left out of unique visitor sketches because too many were pending")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("margdarshak.stats.visitors.flush.failures")
+                .description("Unique visitor flushes that failed and were retried").register(meterRegistry);
+        this.flushTimer = Timer.builder("margdarshak.stats.visitors.flush")
+                .description("Duration of unique visitor flushes").register(meterRegistry);
+    }
+
+    void record(String code, long clickedAtMillis, long visitorHash) {
+        HyperLogLog total = totals.get(code);
+        if (total == null) {
+            if (totals.size() + daily.size() >= maxPendingSketches) {
+                droppedCounter.increment();
+                return;
+            }
+            total = new HyperLogLog();
+            totals.put(code, total);
+        }
+        total.offerHash(visitorHash);
+
+        VisitorSketchKey key = new VisitorSketchKey(code, dayOf(clickedAtMillis));
+        HyperLogLog day = daily.get(key);
+        if (day == null) {
+            if (totals.size() + daily.size() >= maxPendingSketches) {
+                droppedCounter.increment();
+                return;
+            }
+            day = new HyperLogLog();
+            daily.put(key, day);
+        }
+        day.offerHash(visitorHash);
+    }
+
+    void flushIfDue() {
+        if (System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    void flush() {
+        lastFlushNanos = System.nanoTime();
+        Map<String, HyperLogLog> pendingTotals = totals;
+        Map<VisitorSketchKey, HyperLogLog> pendingDaily = daily;
+        totals = new HashMap<>();
+        daily = new HashMap<>();
+        if (pendingTotals.isEmpty() && pendingDaily.isEmpty()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        List<String> codes = new ArrayList<>(pendingTotals.keySet());
+        Collections.sort(codes);
+        for (int from = 0; from < codes.size(); from += flushBatchSize) {
+            List<String> batch = codes.subList(from, Math.min(from + flushBatchSize, codes.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Map<String, byte[]> stored = uniqueVisitorRepository.lockTotals(batch);
+                    Map<String, HyperLogLog> merged = new TreeMap<>();
+                    for (String code : batch) {
+                        HyperLogLog sketch = pendingTotals.get(code);
+                        sketch.merge(HyperLogLog.fromBytes(stored.get(code)));
+                        merged.put(code, sketch);
+                    }
+                    uniqueVisitorRepository.updateTotals(merged);
+                });
+            } catch (Exception e) {
+                flushFailureCounter.increment();
+                log.error("Unique visitor flush of {} codes failed: {}", batch.size(), e.getMessage());
+                batch.forEach(code -> totals.put(code, pendingTotals.get(code)));
+            }
+        }
+
+        List<VisitorSketchKey> keys = new ArrayList<>(pendingDaily.keySet());
+        Collections.sort(keys);
+        for (int from = 0; from < keys.size(); from += flushBatchSize) {
+            List<VisitorSketchKey> batch = keys.subList(from, Math.min(from + flushBatchSize, keys.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Map<VisitorSketchKey, byte[]> stored = uniqueVisitorRepository.lockDaily(batch);
+                    Map<VisitorSketchKey, HyperLogLog> merged = new TreeMap<>();
+                    for (VisitorSketchKey key : batch) {
+                        HyperLogLog sketch = pendingDaily.get(key);
+                        sketch.merge(HyperLogLog.fromBytes(stored.get(key)));
+                        merged.put(key, sketch);
+                    }
+                    uniqueVisitorRepository.updateDaily(merged);
+                });
+            } catch (Exception e) {
+                flushFailureCounter.increment();
+                log.error("Unique visitor flush of {} daily sketches failed: {}", batch.size(), e.getMessage());
+                batch.forEach(key -> daily.put(key, pendingDaily.get(key)));
+            }
+        }
+        flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Maps a click time to its day, reusing the previous answer while clicks
+     * stay within the same day.
+     */
+    private LocalDate dayOf(long millis) {
+        if (millis < currentDayStartMillis || millis >= currentDayEndMillis) {
+            LocalDate day = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+            ZonedDateTime start = day.atStartOfDay(zone);
+            currentDay = day;
+            currentDayStartMillis = start.toInstant().toEpochMilli();
+            currentDayEndMillis = start.plusDays(1).toInstant().toEpochMilli();
+        }
+        return currentDay;
+    }
+
+}
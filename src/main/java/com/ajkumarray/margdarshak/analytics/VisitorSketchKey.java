@@ -0,0 +1,31 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Identifies the unique-visitor sketch of one code on one day.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class VisitorSketchKey implements Comparable<VisitorSketchKey> {
+
+    private final String code;
+
+    private final LocalDate day;
+
+    /**
+     * Orders keys so that concurrent flushes from several nodes lock rows in
+     * the same order.
+     */
+    @Override
+    public int compareTo(VisitorSketchKey other) {
+        int result = code.compareTo(other.code);
+        return result != 0 ? result : day.compareTo(other.day);
+    }
+
+}
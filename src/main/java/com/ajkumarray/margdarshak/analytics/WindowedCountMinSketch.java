@@ -0,0 +1,140 @@
+package com.ajkumarray.margdarshak.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-Min Sketch over a sliding window made of rotating sub-windows.
+ *
+ * Each sub-window has its own depth x width counter matrix. Hits go to the
+ * current sub-window; {@link #rotate} clears the oldest one and makes it
+ * current, so estimates cover the last windows-1 full sub-windows plus the
+ * partial current one. An estimate sums each row across sub-windows and takes
+ * the minimum over rows: it never undercounts, and with probability
+ * 1 - e^-depth overcounts by at most e / width of the hits in the window.
+ *
+ * Thread-safe. Counters are updated with atomic adds, so concurrent hits on
+ * the same key never retry.
+ */
+public class WindowedCountMinSketch {
+
+    private final int depth;
+
+    private final int width;
+
+    private final int windows;
+
+    private final int windowSize;
+
+    private final AtomicLongArray counters;
+
+    private final LongAdder[] windowTotals;
+
+    private volatile int current;
+
+    /**
+     * @param depth   rows, each with an independent hash
+     * @param width   counters per row, rounded up to a power of two
+     * @param windows sub-windows making up the sliding window
+     */
+    public WindowedCountMinSketch(int depth, int width, int windows) {
+        if (depth < 1 || width < 1 || windows < 1) {
+            throw new IllegalArgumentException("Count-Min Sketch dimensions must be positive");
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.windows = windows;
+        this.windowSize = depth * this.width;
+        this.counters = new AtomicLongArray(windows * windowSize);
+        this.windowTotals = new LongAdder[windows];
+        for (int i = 0; i < windows; i++) {
+            windowTotals[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Counts one hit of the key with the given 64-bit hash.
+     */
+    public void add(long hash) {
+        int window = current;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int base = window * windowSize;
+        for (int row = 0; row < depth; row++) {
+            counters.getAndIncrement(base + row * width + ((h1 + row * h2) & (width - 1)));
+        }
+        windowTotals[window].increment();
+    }
+
+    /**
+     * @return estimated hits of the key within the window, never below the
+     *         true count
+     */
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = row * width + ((h1 + row * h2) & (width - 1));
+            long sum = 0;
+            for (int window = 0; window < windows; window++) {
+                sum += counters.get(window * windowSize + column);
+            }
+            estimate = Math.min(estimate, sum);
+        }
+        return estimate;
+    }
+
+    /**
+     * @return hits counted within the window
+     */
+    public long total() {
+        long total = 0;
+        for (LongAdder windowTotal : windowTotals) {
+            total += windowTotal.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Drops the oldest sub-window and starts counting into it. Hits racing
+     * with the rotation may land in either sub-window. Callers rotate from a
+     * single thread.
+     */
+    public void rotate() {
+        int next = (current + 1) % windows;
+        int base = next * windowSize;
+        for (int i = 0; i < windowSize; i++) {
+            counters.set(base + i, 0);
+        }
+        windowTotals[next].reset();
+        current = next;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getWindows() {
+        return windows;
+    }
+
+    /**
+     * @return overcount bound as a fraction of the hits in the window
+     */
+    public double errorRate() {
+        return Math.E / width;
+    }
+
+    /**
+     * @return probability that an estimate exceeds the overcount bound
+     */
+    public double failureProbability() {
+        return Math.exp(-depth);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.ajkumarray.margdarshak.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ajkumarray.margdarshak.util.StableHash;
+
+/**
+ * Thread-safe Bloom filter over strings. Bits live in an
+ * {@link AtomicLongArray} so concurrent inserts and lookups need no locking.
+ * Probe positions are derived from a single {@link StableHash} using double
+ * hashing (Kirsch-Mitzenmacher).
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * Sizes the filter for the expected number of insertions at the requested
+     * false-positive probability.
+     *
+     * @param expectedInsertions expected number of distinct values
+     * @param falsePositiveRate  target false-positive probability, 0 &lt; p &lt; 1
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(1L, (m + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Adds a value. Only values that set at least one new bit are counted as
+     * insertions, so adding the same value again does not skew
+     * {@link #expectedFalsePositiveRate()}.
+     *
+     * @return whether the filter changed
+     */
+    public boolean put(String value) {
+        boolean changed = false;
+        long hash = StableHash.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits.get(word) & mask) == 0
+                    && (bits.getAndAccumulate(word, mask, (current, bit) -> current | bit) & mask) == 0) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+        return changed;
+    }
+
+    public boolean mightContain(String value) {
+        long hash = StableHash.hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getInsertions() {
+        return insertions.get();
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Current expected false-positive probability given the number of
+     * insertions so far.
+     *
+     * @return estimated false-positive probability
+     */
+    public double expectedFalsePositiveRate() {
+        double exponent = -(double) hashFunctions * insertions.get() / bitCount;
+        return Math.pow(1 - Math.exp(exponent), hashFunctions);
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.ajkumarray.margdarshak.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-memory cache of short code to decoded destination, sitting in
+ * front of the redirect lookup. Backed by Caffeine (W-TinyLFU admission), so
+ * one-off scanner traffic does not evict genuinely popular links.
+ *
+ * Every entry expires at the earlier of the link's own expiry and the
+ * configured maximum TTL. The TTL cap bounds how long another node may serve a
+ * link that was changed elsewhere, since invalidation is local to this node.
+ *
+ * Codes passed to {@link #pin} weigh nothing, so size-based eviction never
+ * removes them; they still expire like every other entry.
+ */
+@Component
+public class RedirectCache {
+
+    private static final String CACHE_NAME = "redirect";
+
+    /**
+     * Approximate fixed per-entry overhead (key, entry object, timestamps) used
+     * when weighing entries by size.
+     */
+    private static final int ENTRY_OVERHEAD_WEIGHT = 64;
+
+    private final Cache<String, RedirectCacheEntry> cache;
+
+    private final Duration maxTtl;
+
+    private volatile Set<String> pinned = Set.of();
+
+    public RedirectCache(@Value("${redirect.cache.max-entries:100000}") long maxEntries,
+            @Value("${redirect.cache.max-weight:0}") long maxWeight,
+            @Value("${redirect.cache.max-ttl-seconds:3600}") long maxTtlSeconds, MeterRegistry meterRegistry) {
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+
+        // Entry-count bounding is expressed as a weight of one per entry so both
+        // modes share the same weighted eviction policy.
+        Caffeine<String, RedirectCacheEntry> builder = Caffeine.newBuilder().recordStats()
+                .expireAfter(new LinkExpiry());
+        if (maxWeight > 0) {
+            builder.maximumWeight(maxWeight).weigher(this::weigh);
+        } else {
+            builder.maximumWeight(maxEntries)
+                    .weigher((String code, RedirectCacheEntry entry) -> pinned.contains(code) ? 0 : 1);
+        }
+        this.cache = builder.build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached destination for the code, or null on a miss.
+     *
+     * @param code short url code
+     * @return decoded destination url or null
+     */
+    public String get(String code) {
+        RedirectCacheEntry entry = cache.getIfPresent(code);
+        return entry == null ? null : entry.getDestination();
+    }
+
+    /**
+     * Caches the decoded destination of a link. Links that are already expired
+     * are not cached.
+     *
+     * @param code        short url code
+     * @param destination decoded destination url
+     * @param expiresAt   expiry of the link
+     */
+    public void put(String code, String destination, LocalDateTime expiresAt) {
+        if (expiresAt == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        cache.put(code, new RedirectCacheEntry(destination, expiresAt));
+    }
+
+    public void invalidate(String code) {
+        cache.invalidate(code);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Replaces the set of pinned codes. Entries entering or leaving the set
+     * are re-weighed in place; codes not yet cached are pinned once they are.
+     *
+     * @param codes codes to keep regardless of cache size
+     */
+    public void pin(Set<String> codes) {
+        Set<String> previous = pinned;
+        pinned = Set.copyOf(codes);
+        previous.stream().filter(code -> !codes.contains(code)).forEach(this::reweigh);
+        codes.stream().filter(code -> !previous.contains(code)).forEach(this::reweigh);
+    }
+
+    public int getPinnedCount() {
+        return pinned.size();
+    }
+
+    private void reweigh(String code) {
+        // A new entry instance forces Caffeine to weigh the entry again; it is
+        // marked so the update does not restart its TTL.
+        cache.asMap().computeIfPresent(code,
+                (key, entry) -> new RedirectCacheEntry(entry.getDestination(), entry.getExpiresAt(), true));
+    }
+
+    private int weigh(String code, RedirectCacheEntry entry) {
+        if (pinned.contains(code)) {
+            return 0;
+        }
+        return ENTRY_OVERHEAD_WEIGHT + code.length() + entry.getDestination().length();
+    }
+
+    private long remainingNanos(RedirectCacheEntry entry) {
+        Duration untilExpiry = Duration.between(LocalDateTime.now(), entry.getExpiresAt());
+        if (untilExpiry.isNegative()) {
+            return 0L;
+        }
+        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry.toNanos() : maxTtl.toNanos();
+    }
+
+    /**
+     * Per-entry expiry: never beyond the link's own expiresAt, capped by the
+     * maximum TTL. Reads and re-weighing do not extend the lifetime of an
+     * entry.
+     */
+    private class LinkExpiry implements Expiry<String, RedirectCacheEntry> {
+
+        @Override
+        public long expireAfterCreate(String code, RedirectCacheEntry entry, long currentTime) {
+            return remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterUpdate(String code, RedirectCacheEntry entry, long currentTime,
+                long currentDuration) {
+            return entry.isReweighed() ? currentDuration : remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterRead(String code, RedirectCacheEntry entry, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.ajkumarray.margdarshak.cache;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cached redirect target. Holds the already-decoded destination so a cache hit
+ * needs no further processing, together with the expiry of the link.
+ *
+ * A reweighed entry is a copy made only to have the cache weigh it again; it
+ * keeps the remaining lifetime of the entry it replaces.
+ */
+@Getter
+@AllArgsConstructor
+public class RedirectCacheEntry {
+
+    private final String destination;
+
+    private final LocalDateTime expiresAt;
+
+    private final boolean reweighed;
+
+    public RedirectCacheEntry(String destination, LocalDateTime expiresAt) {
+        this(destination, expiresAt, false);
+    }
+
+}
@@ -0,0 +1,284 @@
+package com.ajkumarray.margdarshak.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.models.projection.UrlCodeProjection;
+import com.ajkumarray.margdarshak.repository.UrlRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Negative-lookup guard for the redirect path. A Bloom filter of every short
+ * code in url_master answers "definitely not a code" without touching the
+ * database; codes that pass the filter but turn out to be missing are kept in a
+ * short-lived negative cache.
+ *
+ * Until the first build completes every code is treated as possibly existing.
+ * Codes created on this node are added as they are written. Codes created on
+ * other nodes are picked up by a refresh that scans url_master for ids above
+ * those already loaded every refresh-interval-ms, so a link created elsewhere
+ * may be answered as missing here for up to about one interval. Each refresh
+ * rescans from the previous refresh's high-water mark so rows committed out of
+ * id order are not skipped, and a full rebuild every rebuild-interval-ms picks
+ * up anything older still missing and resizes the filter.
+ */
+@Component
+public class ShortCodeFilter {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private static final String LOOKUP_METRIC = "margdarshak.redirect.filter.lookups";
+
+    private final UrlRepository urlRepository;
+
+    private final boolean enabled;
+
+    private final long expectedInsertions;
+
+    private final double falsePositiveRate;
+
+    private final int buildBatchSize;
+
+    private final Cache<String, Boolean> missingCodes;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    /** Serialises rebuilds and refreshes, which both advance the id marks. */
+    private final ReentrantLock scanLock = new ReentrantLock();
+
+    /** Highest url_master id loaded into the filter. */
+    private volatile long loadedUpToId;
+
+    /** High-water mark of the previous refresh, where the next one starts. */
+    private long refreshFromId;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Filter under construction during a rebuild. Codes created meanwhile are
+     * written to both filters so none are lost on swap.
+     */
+    private volatile BloomFilter building;
+
+    private final Counter filteredCounter;
+
+    private final Counter negativeCachedCounter;
+
+    private final Counter passedCounter;
+
+    public ShortCodeFilter(UrlRepository urlRepository, MeterRegistry meterRegistry,
+            @Value("${redirect.filter.enabled:true}") boolean enabled,
+            @Value("${redirect.filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${redirect.filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${redirect.filter.build-batch-size:10000}") int buildBatchSize,
+            @Value("${redirect.filter.negative-cache-ttl-seconds:30}") long negativeCacheTtlSeconds,
+            @Value("${redirect.filter.negative-cache-max-entries:100000}") long negativeCacheMaxEntries) {
+        this.urlRepository = urlRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.buildBatchSize = buildBatchSize;
+        this.missingCodes = Caffeine.newBuilder().maximumSize(negativeCacheMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(negativeCacheTtlSeconds)).build();
+
+        this.filteredCounter = Counter.builder(LOOKUP_METRIC).tag("outcome", "filtered")
+                .description("Redirect lookups rejected by the short code Bloom filter").register(meterRegistry);
+        this.negativeCachedCounter = Counter.builder(LOOKUP_METRIC).tag("outcome", "negative_cached")
+                .description("Redirect lookups answered by the negative cache").register(meterRegistry);
+        this.passedCounter = Counter.builder(LOOKUP_METRIC).tag("outcome", "passed")
+                .description("Redirect lookups passed through to the database").register(meterRegistry);
+        Gauge.builder("margdarshak.redirect.filter.expected.fpp", this,
+                f -> f.filter == null ? 0 : f.filter.expectedFalsePositiveRate())
+                .description("Estimated false-positive probability of the short code filter").register(meterRegistry);
+        Gauge.builder("margdarshak.redirect.filter.insertions", this,
+                f -> f.filter == null ? 0 : f.filter.getInsertions())
+                .description("Codes inserted into the short code filter").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns false when the code is known not to exist, in which case the
+     * database lookup can be skipped.
+     *
+     * @param code short url code
+     * @return whether the code may exist
+     */
+    public boolean mightExist(String code) {
+        BloomFilter current = filter;
+        if (!enabled || current == null) {
+            return true;
+        }
+        if (!current.mightContain(code)) {
+            filteredCounter.increment();
+            return false;
+        }
+        if (missingCodes.getIfPresent(code) != null) {
+            negativeCachedCounter.increment();
+            return false;
+        }
+        passedCounter.increment();
+        return true;
+    }
+
+    /**
+     * Records a code that passed the filter but was not found in the database.
+     *
+     * @param code short url code
+     */
+    public void recordMissing(String code) {
+        if (enabled) {
+            missingCodes.put(code, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Registers a newly created or updated code so later lookups reach the
+     * database.
+     *
+     * @param code short url code
+     */
+    public void add(String code) {
+        missingCodes.invalidate(code);
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(code);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(code);
+        }
+    }
+
+    /**
+     * Loads codes written since the last refresh, including those created on
+     * other nodes, and clears them from the negative cache.
+     */
+    @Scheduled(fixedDelayString = "${redirect.filter.refresh-interval-ms:1000}")
+    public void refresh() {
+        BloomFilter current = filter;
+        if (!enabled || current == null || !scanLock.tryLock()) {
+            return;
+        }
+        try {
+            long highWaterMark = loadedUpToId;
+            long afterId = refreshFromId;
+            List<UrlCodeProjection> batch;
+            do {
+                batch = urlRepository.findCodesAfterId(afterId, PageRequest.of(0, buildBatchSize));
+                for (UrlCodeProjection row : batch) {
+                    if (current.put(row.getCode())) {
+                        missingCodes.invalidate(row.getCode());
+                    }
+                    afterId = row.getId();
+                }
+            } while (batch.size() == buildBatchSize);
+            refreshFromId = highWaterMark;
+            loadedUpToId = Math.max(highWaterMark, afterId);
+        } catch (Exception e) {
+            log.error("Short code filter refresh failed: {}", e.getMessage());
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${redirect.filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${redirect.filter.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the filter from url_master, sized for the current row count.
+     * Lookups keep using the previous filter until the new one is complete.
+     *
+     * @return false if a rebuild or refresh was already running
+     */
+    public boolean rebuild() {
+        if (!scanLock.tryLock()) {
+            return false;
+        }
+        rebuilding.set(true);
+        try {
+            long started = System.nanoTime();
+            long capacity = Math.max(expectedInsertions, urlRepository.count() * 2);
+            BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+            building = next;
+
+            long loaded = 0;
+            Long afterId = 0L;
+            List<UrlCodeProjection> batch;
+            do {
+                batch = urlRepository.findCodesAfterId(afterId, PageRequest.of(0, buildBatchSize));
+                for (UrlCodeProjection row : batch) {
+                    next.put(row.getCode());
+                    afterId = row.getId();
+                }
+                loaded += batch.size();
+            } while (batch.size() == buildBatchSize);
+
+            filter = next;
+            refreshFromId = afterId;
+            loadedUpToId = afterId;
+            missingCodes.invalidateAll();
+            log.info("Short code filter rebuilt with {} codes in {} ms", loaded,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+            return true;
+        } catch (Exception e) {
+            log.error("Short code filter rebuild failed: {}", e.getMessage());
+            return false;
+        } finally {
+            building = null;
+            rebuilding.set(false);
+            scanLock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    public long getLoadedUpToId() {
+        return loadedUpToId;
+    }
+
+    public BloomFilter getFilter() {
+        return filter;
+    }
+
+    public long getNegativeCacheSize() {
+        return missingCodes.estimatedSize();
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.ajkumarray.margdarshak.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Actuator endpoint exposing the state of the short code filter and allowing a
+ * rebuild on demand (POST /actuator/shortcodefilter). Admin only.
+ */
+@Component
+@Endpoint(id = "shortcodefilter")
+@AllArgsConstructor
+public class ShortCodeFilterEndpoint {
+
+    private final ShortCodeFilter shortCodeFilter;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", shortCodeFilter.isEnabled());
+        status.put("ready", shortCodeFilter.isReady());
+        status.put("rebuilding", shortCodeFilter.isRebuilding());
+        status.put("loadedUpToId", shortCodeFilter.getLoadedUpToId());
+        BloomFilter filter = shortCodeFilter.getFilter();
+        if (filter != null) {
+            status.put("insertions", filter.getInsertions());
+            status.put("bits", filter.getBitCount());
+            status.put("hashFunctions", filter.getHashFunctions());
+            status.put("expectedFalsePositiveRate", filter.expectedFalsePositiveRate());
+        }
+        status.put("negativeCacheSize", shortCodeFilter.getNegativeCacheSize());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        boolean rebuilt = shortCodeFilter.rebuild();
+        Map<String, Object> status = status();
+        status.put("rebuilt", rebuilt);
+        return status;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.ajkumarray.margdarshak.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ajkumarray.margdarshak.datasource.ReadWriteRoutingDataSource;
+import com.ajkumarray.margdarshak.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Splits database access into a write pool configured by
+ * {@code spring.datasource.*} and a separately sized read pool configured by
+ * {@code datasource.read.*}, which points at a replica when
+ * {@code datasource.read.url} is set and at the primary otherwise.
+ *
+ * The primary DataSource routes read-only transactions to the read pool and
+ * everything else, including non-transactional statements, to the write pool.
+ * Pools are named "write" and "read" in the hikaricp metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.read.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("write");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+            @Value("${datasource.read.url:}") String url, @Value("${datasource.read.username:}") String username,
+            @Value("${datasource.read.password:}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!url.isBlank()) {
+            dataSource.setJdbcUrl(url);
+        }
+        if (!username.isBlank()) {
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+        }
+        dataSource.setPoolName("read");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("readDataSource") DataSource readDataSource,
+            MeterRegistry meterRegistry, @Value("${datasource.read.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${datasource.read.lag-check-interval-ms:1000}") long checkIntervalMillis) {
+        return new ReplicaLagMonitor(readDataSource, maxLagMillis, checkIntervalMillis, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") DataSource readDataSource, ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writeDataSource, readDataSource,
+                replicaLagMonitor, meterRegistry));
+    }
+
+}
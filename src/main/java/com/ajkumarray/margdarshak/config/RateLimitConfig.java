@@ -0,0 +1,64 @@
+package com.ajkumarray.margdarshak.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.ajkumarray.margdarshak.filter.RateLimitFilter;
+import com.ajkumarray.margdarshak.ratelimit.RateLimitRoute;
+import com.ajkumarray.margdarshak.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rate limits the unauthenticated endpoints: public url creation, keyed by the
+ * userCode header behind a per-address limit, and registration/login, keyed by
+ * client address. Each route gets its own filter registration so nothing else
+ * pays for the check.
+ *
+ * Client addresses come from request.getRemoteAddr(), which only reflects
+ * X-Forwarded-For when server.forward-headers-strategy trusts the proxy.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    private static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+
+    @Value("${spring.api}")
+    private String apiPrefix;
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> publicRateLimitFilter(RateLimiter rateLimiter,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${rate-limit.public.capacity:20}") int capacity,
+            @Value("${rate-limit.public.refill-per-second:5}") double refillPerSecond,
+            @Value("${rate-limit.public-address.capacity:100}") int addressCapacity,
+            @Value("${rate-limit.public-address.refill-per-second:25}") double addressRefillPerSecond) {
+        return register(new RateLimitFilter(rateLimiter,
+                new RateLimitRoute("public", capacity, refillPerSecond, "userCode"),
+                new RateLimitRoute("public-address", addressCapacity, addressRefillPerSecond, null), objectMapper,
+                meterRegistry), "public/*");
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> authRateLimitFilter(RateLimiter rateLimiter,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${rate-limit.auth.capacity:10}") int capacity,
+            @Value("${rate-limit.auth.refill-per-second:0.5}") double refillPerSecond) {
+        return register(new RateLimitFilter(rateLimiter, new RateLimitRoute("auth", capacity, refillPerSecond, null),
+                objectMapper, meterRegistry), "auth/*");
+    }
+
+    private FilterRegistrationBean<RateLimitFilter> register(RateLimitFilter filter, String path) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(ORDER);
+        registration.addUrlPatterns(apiPrefix + path);
+        return registration;
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.ajkumarray.margdarshak.config;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.ajkumarray.margdarshak.analytics.ClickEventRecorder;
+import com.ajkumarray.margdarshak.filter.RedirectFastPathFilter;
+import com.ajkumarray.margdarshak.metrics.RedirectMetrics;
+import com.ajkumarray.margdarshak.service.UrlService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the redirect fast path ahead of every other servlet filter,
+ * including the Spring Security filter chain. Disabled by default so the two
+ * redirect modes can be compared under load.
+ */
+@Configuration
+@ConditionalOnProperty(name = "redirect.fast-path.enabled", havingValue = "true")
+public class RedirectFastPathConfig {
+
+    @Bean
+    public FilterRegistrationBean<RedirectFastPathFilter> redirectFastPathFilter(UrlService urlService,
+            ClickEventRecorder clickEventRecorder, RedirectMetrics redirectMetrics, MeterRegistry meterRegistry,
+            @Value("${redirect.fast-path.db-fallback:true}") boolean databaseFallback,
+            @Value("${redirect.fast-path.reserved-paths:error,actuator,api,v3,swagger-ui}") List<String> reservedPaths) {
+        FilterRegistrationBean<RedirectFastPathFilter> registration = new FilterRegistrationBean<>(
+                new RedirectFastPathFilter(urlService, clickEventRecorder, redirectMetrics, databaseFallback,
+                        new HashSet<>(reservedPaths), meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+}
@@ -6,6 +6,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import com.ajkumarray.margdarshak.security.JwtAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -25,8 +26,16 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         return http.cors(cors -> cors.configurationSource(corsConfigurationSource())).csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests(auth -> auth.requestMatchers("/*", "/api/v1/auth/**", "api/v1/public/**",
-                        "/swagger-ui/**", "/v3/api-docs/**").permitAll().anyRequest().authenticated())
+                // Async dispatches of streamed responses (url export) were authorized on the original request.
+                .authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus")
+                        .permitAll()
+                        // Other actuator endpoints expose other users' links and traffic (hot links, metrics)
+                        // and their write operations scan whole tables.
+                        .requestMatchers("/actuator", "/actuator/**").hasRole(JwtAuthenticationFilter.ADMIN_ROLE)
+                        .requestMatchers("/*", "/api/v1/auth/**", "api/v1/public/**",
+                        "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class).build();
     }
 
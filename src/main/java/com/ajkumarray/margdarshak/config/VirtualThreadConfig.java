@@ -0,0 +1,80 @@
+package com.ajkumarray.margdarshak.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.ajkumarray.margdarshak.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Extra wiring for the virtual-threads profile. Request handling switches to
+ * virtual threads through {@code spring.threads.virtual.enabled}; this
+ * configuration puts a semaphore in front of each Hikari pool so waiting for a
+ * connection has backpressure: at most
+ * {@code virtual-threads.datasource.max-waiters} callers wait, for at most
+ * {@code virtual-threads.datasource.acquire-timeout-ms}.
+ *
+ * It also replaces the scheduler Boot installs for virtual threads, which runs
+ * every fixed-delay job on its single scheduler thread, with the usual pooled
+ * scheduler ({@code spring.task.scheduling.pool.size} workers) whose workers
+ * are virtual threads. A long sweep then holds up one worker instead of click
+ * flushes, code pool refills and lease heartbeats.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        ThreadPoolTaskScheduler scheduler = builder.build();
+        scheduler.setThreadFactory(Thread.ofVirtual().name(scheduler.getThreadNamePrefix(), 0).factory());
+        return scheduler;
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        long acquireTimeoutMillis = environment.getProperty("virtual-threads.datasource.acquire-timeout-ms",
+                Long.class, 1000L);
+        int maxWaiters = environment.getProperty("virtual-threads.datasource.max-waiters", Integer.class, 500);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // An unset pool size reads -1 until Hikari validates its configuration.
+                int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize()
+                        : HIKARI_DEFAULT_POOL_SIZE;
+                ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(hikari, poolSize,
+                        Math.min(acquireTimeoutMillis, hikari.getConnectionTimeout()), maxWaiters);
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("margdarshak.datasource.permits.available", limited,
+                            ConnectionLimitingDataSource::getAvailablePermits).tag("pool", beanName)
+                            .register(registry);
+                    Gauge.builder("margdarshak.datasource.permits.waiting", limited,
+                            ConnectionLimitingDataSource::getQueueLength).tag("pool", beanName).register(registry);
+                    FunctionCounter.builder("margdarshak.datasource.permits.rejected", limited,
+                            ConnectionLimitingDataSource::getRejected).tag("pool", beanName)
+                            .description("Connection requests rejected by the permit limiter").register(registry);
+                });
+                return limited;
+            }
+        };
+    }
+
+}
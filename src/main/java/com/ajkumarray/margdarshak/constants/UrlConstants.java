@@ -38,6 +38,17 @@ public final class UrlConstants {
      */
     public static final int MAX_EXPIRATION_DAYS = 365;
 
+    /**
+     * Request header carrying a client-chosen key that makes url creation
+     * idempotent.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Maximum length of an Idempotency-Key header value.
+     */
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     /**
      * Default system user for URL creation.
      */
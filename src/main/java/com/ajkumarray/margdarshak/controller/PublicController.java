@@ -16,10 +16,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import com.ajkumarray.margdarshak.service.UrlService;
+import com.ajkumarray.margdarshak.constants.UrlConstants;
 import com.ajkumarray.margdarshak.util.MessageTranslator;
 import com.ajkumarray.margdarshak.util.CommonFunctionHelper;
 import com.ajkumarray.margdarshak.models.response.ObjectResponse;
 import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
+import com.ajkumarray.margdarshak.models.request.UrlBatchRequest;
 import com.ajkumarray.margdarshak.enums.ApplicationEnums;
 import com.ajkumarray.margdarshak.exception.ApplicationException;
 
@@ -56,7 +58,8 @@ public class PublicController {
         @Operation(summary = "Create Short URL", description = "Creates a new shortened URL for the provided long URL. Requires userCode in header for user identification.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "URL successfully shortened", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
-                        @ApiResponse(responseCode = "400", description = "Invalid request parameters or missing userCode in header") })
+                        @ApiResponse(responseCode = "400", description = "Invalid request parameters or missing userCode in header"),
+                        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request") })
         @PostMapping("url")
         public ResponseEntity<ObjectResponse> createShortUrl(
                         @Parameter(description = "URL shortening request") @RequestBody UrlMasterRequest request,
@@ -74,7 +77,44 @@ public class PublicController {
                 response.setMessageCode(ApplicationEnums.URL_CREATION_SUCCESS.getCode());
                 response.setMessage(MessageTranslator.toLocale(ApplicationEnums.URL_CREATION_SUCCESS.getCode()));
 
-                Object result = urlService.createShortUrl(request, userCode);
+                Object result = urlService.createShortUrl(request, userCode,
+                                headers.getFirst(UrlConstants.IDEMPOTENCY_KEY_HEADER));
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
+        /**
+         * Creates shortened URLs for a batch of long URLs for external users.
+         *
+         * @param request The batch of URL shortening requests
+         * @param headers HTTP headers containing the mandatory userCode for user
+         *                identification
+         * @return ResponseEntity containing the per-item results in request order
+         * @throws ApplicationException if userCode is missing in the request header
+         */
+        @Operation(summary = "Create Short URLs in Bulk", description = "Creates shortened URLs for up to url.batch.max-size long URLs and reports the result of each item. Requires userCode in header for user identification.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Empty batch, batch size limit exceeded or missing userCode in header") })
+        @PostMapping("url/batch")
+        public ResponseEntity<ObjectResponse> createShortUrls(
+                        @Parameter(description = "Batch of URL shortening requests") @RequestBody UrlBatchRequest request,
+                        @Parameter(description = "HTTP headers containing the mandatory userCode", required = true) @RequestHeader HttpHeaders headers)
+                        throws ApplicationException {
+                String userCode = headers.getFirst("userCode");
+                if (commonFunctionHelper.isEmptyOrBlank(userCode)) {
+                        throw new ApplicationException(
+                                        MessageTranslator.toLocale(ApplicationEnums.INVALID_HEADER_REQUEST.getCode()),
+                                        ApplicationEnums.INVALID_HEADER_REQUEST.getCode());
+                }
+
+                ObjectResponse response = new ObjectResponse();
+                HttpStatus headerStatus = HttpStatus.OK;
+                response.setMessageCode(ApplicationEnums.URL_CREATION_SUCCESS.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.URL_CREATION_SUCCESS.getCode()));
+
+                Object result = urlService.createShortUrls(request, userCode);
                 response.setList(result);
 
                 return new ResponseEntity<>(response, headerStatus);
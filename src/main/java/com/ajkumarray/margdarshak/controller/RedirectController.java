@@ -5,11 +5,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import lombok.AllArgsConstructor;
 import java.net.URI;
 
+import com.ajkumarray.margdarshak.analytics.ClickEventRecorder;
+import com.ajkumarray.margdarshak.metrics.RedirectMetrics;
 import com.ajkumarray.margdarshak.service.UrlService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +20,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controller for handling URL redirections. Provides endpoints for redirecting
@@ -30,10 +34,15 @@ public class RedirectController {
 
     private final UrlService urlService;
 
+    private final ClickEventRecorder clickEventRecorder;
+
+    private final RedirectMetrics redirectMetrics;
+
     /**
      * Redirects a shortened URL to its original destination.
      *
-     * @param code The short URL code to redirect
+     * @param code    The short URL code to redirect
+     * @param request The servlet request, for click analytics
      * @return ResponseEntity with HTTP 302 (Found) redirect to the original URL, or
      *         404 if not found
      */
@@ -42,11 +51,18 @@ public class RedirectController {
             @ApiResponse(responseCode = "404", description = "Short URL not found or expired") })
     @GetMapping(value = "{code}")
     public ResponseEntity<Void> redirectToOriginalUrl(
-            @Parameter(description = "Short URL code") @PathVariable String code) {
-        String originalUrl = urlService.getOriginalUrl(code);
-        if (originalUrl == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            @Parameter(description = "Short URL code") @PathVariable String code, HttpServletRequest request) {
+        long started = System.nanoTime();
+        try {
+            String originalUrl = urlService.getOriginalUrl(code);
+            if (originalUrl == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            clickEventRecorder.publish(code, request.getHeader(HttpHeaders.REFERER),
+                    request.getHeader(HttpHeaders.USER_AGENT), request.getRemoteAddr());
+            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(originalUrl)).build();
+        } finally {
+            redirectMetrics.recordMvc(started);
         }
-        return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(originalUrl)).build();
     }
 }
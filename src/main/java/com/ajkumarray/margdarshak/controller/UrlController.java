@@ -1,10 +1,17 @@
 package com.ajkumarray.margdarshak.controller;
 
+import com.ajkumarray.margdarshak.constants.UrlConstants;
 import com.ajkumarray.margdarshak.enums.ApplicationEnums;
+import com.ajkumarray.margdarshak.enums.ExportFormatEnums;
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
 import com.ajkumarray.margdarshak.util.MessageTranslator;
 
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,10 +23,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ajkumarray.margdarshak.models.request.UrlBatchRequest;
 import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
+import com.ajkumarray.margdarshak.service.UrlExportService;
 import com.ajkumarray.margdarshak.service.UrlService;
 
+import java.util.zip.GZIPOutputStream;
+
 import lombok.AllArgsConstructor;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,6 +58,8 @@ public class UrlController {
 
         private final UrlService urlService;
 
+        private final UrlExportService urlExportService;
+
         /**
          * Creates a new shortened URL.
          *
@@ -58,7 +72,8 @@ public class UrlController {
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "URL successfully shortened", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
                         @ApiResponse(responseCode = "400", description = "Invalid request parameters"),
-                        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required") })
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required"),
+                        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request") })
         @PostMapping("")
         public ResponseEntity<ObjectResponse> createShortUrl(
                         @Parameter(description = "HTTP Headers") @RequestHeader HttpHeaders headers,
@@ -70,7 +85,37 @@ public class UrlController {
                 response.setMessageCode(ApplicationEnums.URL_CREATION_SUCCESS.getCode());
                 response.setMessage(MessageTranslator.toLocale(ApplicationEnums.URL_CREATION_SUCCESS.getCode()));
 
-                Object result = urlService.createShortUrl(request, userCode);
+                Object result = urlService.createShortUrl(request, userCode,
+                                headers.getFirst(UrlConstants.IDEMPOTENCY_KEY_HEADER));
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
+        /**
+         * Creates shortened URLs for a batch of long URLs.
+         *
+         * @param headers HTTP headers containing user information
+         * @param request The batch of URL shortening requests
+         * @return ResponseEntity containing the per-item results in request order
+         */
+        @Operation(summary = "Create Short URLs in Bulk", description = "Creates shortened URLs for up to url.batch.max-size long URLs and reports the result of each item")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Empty batch or batch size limit exceeded"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required") })
+        @PostMapping("/batch")
+        public ResponseEntity<ObjectResponse> createShortUrls(
+                        @Parameter(description = "HTTP Headers") @RequestHeader HttpHeaders headers,
+                        @Parameter(description = "Batch of URL shortening requests") @RequestBody UrlBatchRequest request) {
+
+                String userCode = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                HttpStatus headerStatus = HttpStatus.OK;
+                ObjectResponse response = new ObjectResponse();
+                response.setMessageCode(ApplicationEnums.URL_CREATION_SUCCESS.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.URL_CREATION_SUCCESS.getCode()));
+
+                Object result = urlService.createShortUrls(request, userCode);
                 response.setList(result);
 
                 return new ResponseEntity<>(response, headerStatus);
@@ -103,6 +148,78 @@ public class UrlController {
                 return new ResponseEntity<>(response, headerStatus);
         }
 
+        /**
+         * Retrieves the authenticated user's URLs with keyset pagination.
+         *
+         * @param cursor       Continuation token from the previous page, omitted
+         *                     for the first page
+         * @param size         Number of records per page
+         * @param includeTotal Whether to count all matching URLs
+         * @return ResponseEntity containing the page of URLs and the next cursor
+         */
+        @Operation(summary = "Get URLs by Cursor", description = "Retrieves shortened URLs for the authenticated user, newest first, using an opaque continuation cursor. Totals are only computed when includeTotal is set.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved URLs", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required") })
+        @GetMapping("/cursor")
+        public ResponseEntity<ObjectResponse> getUrlsByCursor(
+                        @Parameter(description = "Continuation cursor from the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Number of records per page") @RequestParam(defaultValue = "15") int size,
+                        @Parameter(description = "Whether to include the total number of URLs") @RequestParam(defaultValue = "false") boolean includeTotal) {
+                String userCode = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                ObjectResponse response = new ObjectResponse();
+                HttpStatus headerStatus = HttpStatus.OK;
+                response.setMessageCode(ApplicationEnums.SUCCESS_MESSAGE.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.SUCCESS_MESSAGE.getCode()));
+
+                Object result = urlService.getUrlsByCursor(userCode, cursor, size, includeTotal);
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
+        /**
+         * Streams all of the authenticated user's URLs as a file download.
+         *
+         * @param headers HTTP headers; the body is gzip-compressed when
+         *                Accept-Encoding allows it
+         * @param format  NDJSON or CSV
+         * @return ResponseEntity streaming the export
+         */
+        @Operation(summary = "Export URLs", description = "Streams all shortened URLs of the authenticated user with their stats as NDJSON or CSV")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Export stream"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required") })
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportUrls(
+                        @Parameter(description = "HTTP Headers") @RequestHeader HttpHeaders headers,
+                        @Parameter(description = "Export format: NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") ExportFormatEnums format) {
+                String userCode = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+                boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+                StreamingResponseBody body = out -> {
+                        if (gzip) {
+                                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                                urlExportService.exportUrls(userCode, format, gzipOut);
+                                gzipOut.finish();
+                        } else {
+                                urlExportService.exportUrls(userCode, format, out);
+                        }
+                };
+
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(format.getContentType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"urls." + format.getExtension() + "\"")
+                                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzip) {
+                        response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+                return response.body(body);
+        }
+
         /**
          * Retrieves detailed information about a specific shortened URL.
          *
@@ -127,6 +244,36 @@ public class UrlController {
                 return new ResponseEntity<>(response, headerStatus);
         }
 
+        /**
+         * Retrieves click statistics of a shortened URL in time buckets.
+         *
+         * @param code        The short URL code
+         * @param from        Start of the range, defaults to 30 days before to
+         * @param to          End of the range (exclusive), defaults to now
+         * @param granularity Bucket size: MINUTE, HOUR or DAY
+         * @return ResponseEntity containing the click buckets
+         */
+        @Operation(summary = "Get URL Statistics", description = "Retrieves pre-aggregated click counts of a shortened URL per minute, hour or day")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid range or too many buckets") })
+        @GetMapping("/detail/{code}/stats")
+        public ResponseEntity<ObjectResponse> getUrlStats(
+                        @Parameter(description = "Short URL code") @PathVariable String code,
+                        @Parameter(description = "Range start (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                        @Parameter(description = "Range end, exclusive (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                        @Parameter(description = "Bucket size: MINUTE, HOUR or DAY") @RequestParam(defaultValue = "DAY") StatsGranularityEnums granularity) {
+                ObjectResponse response = new ObjectResponse();
+                HttpStatus headerStatus = HttpStatus.OK;
+                response.setMessageCode(ApplicationEnums.SUCCESS_MESSAGE.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.SUCCESS_MESSAGE.getCode()));
+
+                Object result = urlService.getUrlStats(code, from, to, granularity);
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
         /**
          * Updates an existing shortened URL.
          *
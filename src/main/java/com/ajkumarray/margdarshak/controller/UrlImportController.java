@@ -0,0 +1,150 @@
+package com.ajkumarray.margdarshak.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ajkumarray.margdarshak.enums.ApplicationEnums;
+import com.ajkumarray.margdarshak.models.response.ObjectResponse;
+import com.ajkumarray.margdarshak.service.UrlImportService;
+import com.ajkumarray.margdarshak.util.MessageTranslator;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+/**
+ * Controller for bulk imports of existing short links from CSV files. Imports
+ * run in the background; clients poll the job for progress.
+ */
+@RestController
+@RequestMapping(value = "${spring.api}url/import")
+@Tag(name = "URL Import", description = "API for importing existing short links from CSV")
+@SecurityRequirement(name = "bearerAuth")
+@AllArgsConstructor
+public class UrlImportController {
+
+        private final UrlImportService urlImportService;
+
+        /**
+         * Uploads a CSV file and starts importing it.
+         *
+         * @param file CSV file with the columns code,url,expirationDays[,status]
+         * @return ResponseEntity containing the created import job
+         */
+        @Operation(summary = "Start URL Import", description = "Uploads a CSV file with the columns code,url,expirationDays[,status] and imports it in the background")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Import job started", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Missing or unreadable file"),
+                        @ApiResponse(responseCode = "401", description = "Unauthorized - Authentication required") })
+        @PostMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<ObjectResponse> startImport(
+                        @Parameter(description = "CSV file to import") @RequestPart("file") MultipartFile file) {
+                String userCode = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                ObjectResponse response = new ObjectResponse();
+                HttpStatus headerStatus = HttpStatus.OK;
+                response.setMessageCode(ApplicationEnums.SUCCESS_MESSAGE.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.SUCCESS_MESSAGE.getCode()));
+
+                Object result = urlImportService.startImport(userCode, file);
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
+        /**
+         * Retrieves the progress of an import job.
+         *
+         * @param jobId Import job id
+         * @return ResponseEntity containing the import job
+         */
+        @Operation(summary = "Get URL Import", description = "Retrieves the status and progress counters of an import job")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved import job", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Import job not found") })
+        @GetMapping("/{jobId}")
+        public ResponseEntity<ObjectResponse> getImportJob(
+                        @Parameter(description = "Import job id") @PathVariable long jobId) {
+                String userCode = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                ObjectResponse response = new ObjectResponse();
+                HttpStatus headerStatus = HttpStatus.OK;
+                response.setMessageCode(ApplicationEnums.SUCCESS_MESSAGE.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.SUCCESS_MESSAGE.getCode()));
+
+                Object result = urlImportService.getImportJob(userCode, jobId);
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
+        /**
+         * Resumes a failed or stalled import job after its last committed line.
+         *
+         * @param jobId Import job id
+         * @return ResponseEntity containing the resumed import job
+         */
+        @Operation(summary = "Resume URL Import", description = "Resumes a failed or stalled import job from the line after its last committed chunk")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Import job resumed", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Import job is not resumable"),
+                        @ApiResponse(responseCode = "404", description = "Import job not found") })
+        @PostMapping("/{jobId}/resume")
+        public ResponseEntity<ObjectResponse> resumeImport(
+                        @Parameter(description = "Import job id") @PathVariable long jobId) {
+                String userCode = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                ObjectResponse response = new ObjectResponse();
+                HttpStatus headerStatus = HttpStatus.OK;
+                response.setMessageCode(ApplicationEnums.SUCCESS_MESSAGE.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.SUCCESS_MESSAGE.getCode()));
+
+                Object result = urlImportService.resumeImport(userCode, jobId);
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
+        /**
+         * Retrieves rejected rows of an import job in line order.
+         *
+         * @param jobId     Import job id
+         * @param afterLine Return rejections after this line
+         * @param size      Maximum number of rejections to return
+         * @return ResponseEntity containing the rejected rows
+         */
+        @Operation(summary = "Get URL Import Rejections", description = "Retrieves the rows an import job rejected, with the reason, in line order")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved rejections", content = @Content(schema = @Schema(implementation = ObjectResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Import job not found") })
+        @GetMapping("/{jobId}/rejections")
+        public ResponseEntity<ObjectResponse> getImportRejections(
+                        @Parameter(description = "Import job id") @PathVariable long jobId,
+                        @Parameter(description = "Return rejections after this line") @RequestParam(defaultValue = "0") long afterLine,
+                        @Parameter(description = "Maximum number of rejections") @RequestParam(defaultValue = "100") int size) {
+                String userCode = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+                ObjectResponse response = new ObjectResponse();
+                HttpStatus headerStatus = HttpStatus.OK;
+                response.setMessageCode(ApplicationEnums.SUCCESS_MESSAGE.getCode());
+                response.setMessage(MessageTranslator.toLocale(ApplicationEnums.SUCCESS_MESSAGE.getCode()));
+
+                Object result = urlImportService.getImportRejections(userCode, jobId, afterLine, size);
+                response.setList(result);
+
+                return new ResponseEntity<>(response, headerStatus);
+        }
+
+}
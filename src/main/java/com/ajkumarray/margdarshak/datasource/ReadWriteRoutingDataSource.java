@@ -0,0 +1,92 @@
+package com.ajkumarray.margdarshak.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the
+ * read pool and everything else to the write pool.
+ *
+ * The read-only flag is only bound once a transaction has begun, so this must
+ * sit behind a {@code LazyConnectionDataSourceProxy} that defers fetching the
+ * connection to the first statement. Reads fall back to the write pool while
+ * the {@link ReplicaLagMonitor} reports the replica behind or unreachable, and
+ * when the read pool fails to hand out a connection.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String METRIC = "margdarshak.datasource.route";
+
+    private static final String READ = "read";
+
+    private static final String WRITE = "write";
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final DataSource writeDataSource;
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    private final Counter readCounter;
+
+    private final Counter writeCounter;
+
+    private final Counter fallbackCounter;
+
+    public ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource,
+            ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.writeDataSource = writeDataSource;
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(READ, readDataSource, WRITE, writeDataSource));
+        setDefaultTargetDataSource(writeDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.readCounter = Counter.builder(METRIC).tag("route", READ).register(meterRegistry);
+        this.writeCounter = Counter.builder(METRIC).tag("route", WRITE).register(meterRegistry);
+        this.fallbackCounter = Counter.builder(METRIC).tag("route", "read_fallback")
+                .description("Read-only connections served by the write pool").register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writeCounter.increment();
+            return WRITE;
+        }
+        if (!replicaLagMonitor.isAvailable()) {
+            fallbackCounter.increment();
+            return WRITE;
+        }
+        readCounter.increment();
+        return READ;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == writeDataSource) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            replicaLagMonitor.markUnavailable();
+            fallbackCounter.increment();
+            log.warn("Read pool connection failed, using the write pool: {}", e.getMessage());
+            return writeDataSource.getConnection();
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.ajkumarray.margdarshak.datasource;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tracks how far the read pool's database trails the primary and whether it
+ * may serve reads.
+ *
+ * Lag is zero when the read pool points at a primary or when the replica has
+ * replayed everything it received; otherwise it is the age of the last
+ * replayed transaction. The read pool is unavailable while the lag exceeds
+ * maxLagMillis, while the lag cannot be determined, and from a failed
+ * connection attempt until the next successful check. Starts unavailable so
+ * reads stay on the primary until the first check has run.
+ *
+ * Checks run on a dedicated thread rather than the shared scheduler, so busy
+ * scheduled jobs cannot delay them. A result older than STALE_AFTER_CHECKS
+ * intervals, e.g. while a check hangs on an unresponsive replica, no longer
+ * counts and reads go to the primary.
+ *
+ * Created by {@code DataSourceRoutingConfig}.
+ */
+public class ReplicaLagMonitor {
+
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE coalesce(CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT), -1) "
+            + "END";
+
+    private static final int STALE_AFTER_CHECKS = 3;
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final JdbcTemplate readJdbcTemplate;
+
+    private final long maxLagMillis;
+
+    private final long checkIntervalMillis;
+
+    private final long staleAfterNanos;
+
+    private ScheduledExecutorService executor;
+
+    /** System.nanoTime() of the last check that determined the lag. */
+    private volatile long lastMeasuredNanos;
+
+    /** Last measured lag, -1 when unknown. */
+    private volatile long lagMillis = -1;
+
+    private volatile boolean available;
+
+    public ReplicaLagMonitor(DataSource readDataSource, long maxLagMillis, long checkIntervalMillis,
+            MeterRegistry meterRegistry) {
+        this.readJdbcTemplate = new JdbcTemplate(readDataSource);
+        this.readJdbcTemplate
+                .setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkIntervalMillis)));
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMillis * STALE_AFTER_CHECKS);
+
+        Gauge.builder("margdarshak.datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .baseUnit("milliseconds").description("Replication lag of the read pool, -1 when unknown")
+                .register(meterRegistry);
+        Gauge.builder("margdarshak.datasource.replica.available", this, monitor -> monitor.isAvailable() ? 1 : 0)
+                .description("Whether read-only transactions are routed to the read pool").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                task -> Thread.ofPlatform().name("replica-lag-monitor").daemon().unstarted(task));
+        executor.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public void check() {
+        boolean wasAvailable = available;
+        try {
+            Long lag = readJdbcTemplate.queryForObject(LAG_SQL, Long.class);
+            lagMillis = lag == null ? -1 : lag;
+            lastMeasuredNanos = System.nanoTime();
+        } catch (Exception e) {
+            lagMillis = -1;
+            if (wasAvailable) {
+                log.warn("Replica lag check failed: {}", e.getMessage());
+            }
+        }
+        available = lagMillis >= 0 && lagMillis <= maxLagMillis;
+        if (wasAvailable != available) {
+            log.info("Read pool {} (lag {} ms, tolerance {} ms)", available ? "enabled" : "disabled", lagMillis,
+                    maxLagMillis);
+        }
+    }
+
+    /**
+     * Takes the read pool out of rotation until the next successful check.
+     */
+    public void markUnavailable() {
+        available = false;
+    }
+
+    public boolean isAvailable() {
+        return available && System.nanoTime() - lastMeasuredNanos <= staleAfterNanos;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+}
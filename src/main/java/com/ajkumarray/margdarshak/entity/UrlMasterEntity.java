@@ -16,6 +16,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
 import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
 
 /**
@@ -37,11 +38,16 @@ public class UrlMasterEntity extends CommonEntity {
     @Column(name = "code", nullable = false)
     private String code;
 
-    @Column(name = "url", nullable = false)
+    /** Destination in urlFormat; null for COMPRESSED rows, whose destination is in urlCompressed. */
+    @Column(name = "url", nullable = true, columnDefinition = "TEXT")
     private String url;
 
-    @Column(name = "short_url", nullable = false)
-    private String shortUrl;
+    @Column(name = "url_compressed", nullable = true)
+    private byte[] urlCompressed;
+
+    @Column(name = "url_format", nullable = true)
+    @Enumerated(EnumType.STRING)
+    private UrlFormatEnums urlFormat;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -59,4 +65,8 @@ public class UrlMasterEntity extends CommonEntity {
     @Column(name = "created_by", nullable = false)
     private String createdBy;
 
+    /** Hash of the normalised destination, probed by deduplicating creates. */
+    @Column(name = "url_hash", nullable = true)
+    private Long urlHash;
+
 }
\ No newline at end of file
@@ -9,6 +9,15 @@ public enum ApplicationEnums {
     SUCCESS_MESSAGE(ResponseCodeAndMessage.SUCCESS_MESSAGE), 
     FAILED_MESSAGE(ResponseCodeAndMessage.FAILED_MESSAGE),
     INVALID_URL_CODE(ResponseCodeAndMessage.INVALID_URL_CODE),
+    INVALID_URL_REQUEST(ResponseCodeAndMessage.INVALID_URL_REQUEST),
+    BATCH_LIMIT_EXCEEDED(ResponseCodeAndMessage.BATCH_LIMIT_EXCEEDED),
+    INVALID_CURSOR(ResponseCodeAndMessage.INVALID_CURSOR),
+    IMPORT_JOB_NOT_FOUND(ResponseCodeAndMessage.IMPORT_JOB_NOT_FOUND),
+    IMPORT_NOT_RESUMABLE(ResponseCodeAndMessage.IMPORT_NOT_RESUMABLE),
+    INVALID_IMPORT_FILE(ResponseCodeAndMessage.INVALID_IMPORT_FILE),
+    INVALID_STATS_RANGE(ResponseCodeAndMessage.INVALID_STATS_RANGE),
+    RATE_LIMIT_EXCEEDED(ResponseCodeAndMessage.RATE_LIMIT_EXCEEDED),
+    IDEMPOTENCY_KEY_REUSED(ResponseCodeAndMessage.IDEMPOTENCY_KEY_REUSED),
 
     
     SIGNUP_SUCCESS(ResponseCodeAndMessage.SIGNUP_SUCCESS),
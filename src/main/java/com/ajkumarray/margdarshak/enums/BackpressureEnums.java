@@ -0,0 +1,8 @@
+package com.ajkumarray.margdarshak.enums;
+
+/**
+ * Enum representing what a producer does when a bounded buffer is full.
+ */
+public enum BackpressureEnums {
+    DROP, BLOCK
+}
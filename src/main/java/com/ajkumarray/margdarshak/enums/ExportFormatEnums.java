@@ -0,0 +1,25 @@
+package com.ajkumarray.margdarshak.enums;
+
+/**
+ * Enum representing the file formats of a url export.
+ */
+public enum ExportFormatEnums {
+    NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv", "csv");
+
+    private final String contentType;
+
+    private final String extension;
+
+    ExportFormatEnums(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ajkumarray.margdarshak.enums;
+
+/**
+ * Enum representing the lifecycle of a url import job.
+ */
+public enum ImportStatusEnums {
+    RUNNING, COMPLETED, FAILED
+}
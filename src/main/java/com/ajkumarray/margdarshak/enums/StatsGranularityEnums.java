@@ -0,0 +1,20 @@
+package com.ajkumarray.margdarshak.enums;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Enum representing the bucket sizes of pre-aggregated click statistics.
+ */
+public enum StatsGranularityEnums {
+    MINUTE(ChronoUnit.MINUTES), HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    StatsGranularityEnums(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+}
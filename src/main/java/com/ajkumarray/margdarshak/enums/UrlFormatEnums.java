@@ -0,0 +1,9 @@
+package com.ajkumarray.margdarshak.enums;
+
+/**
+ * How url_master stores a destination. Rows written before url_format existed
+ * have no format and hold the URLEncoder form, the same as ENCODED.
+ */
+public enum UrlFormatEnums {
+    ENCODED, RAW, COMPRESSED
+}
@@ -11,6 +11,15 @@ public class ResponseCodeAndMessage {
     public static final String INVALID_URL_CODE = "103";
     public static final String URL_CREATION_SUCCESS = "105";
     public static final String URL_CREATION_FAILED = "106";
+    public static final String INVALID_URL_REQUEST = "107";
+    public static final String BATCH_LIMIT_EXCEEDED = "108";
+    public static final String INVALID_CURSOR = "109";
+    public static final String IMPORT_JOB_NOT_FOUND = "110";
+    public static final String IMPORT_NOT_RESUMABLE = "111";
+    public static final String INVALID_IMPORT_FILE = "112";
+    public static final String INVALID_STATS_RANGE = "113";
+    public static final String RATE_LIMIT_EXCEEDED = "114";
+    public static final String IDEMPOTENCY_KEY_REUSED = "115";
 
     public static final String SIGNUP_SUCCESS = "201";
     public static final String SIGNUP_FAILED = "202";
@@ -0,0 +1,102 @@
+package com.ajkumarray.margdarshak.expiry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.cache.RedirectCache;
+import com.ajkumarray.margdarshak.repository.ExpiredUrlRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Scheduled sweep that moves links past their expiresAt from ACTIVE to
+ * EXPIRED, so they drop out of the active working set and its indexes.
+ *
+ * Each batch is a single short UPDATE over at most batchSize rows picked with
+ * FOR UPDATE SKIP LOCKED, so several nodes can sweep at the same time without
+ * blocking each other or expiring the same row twice. A sweep stops after
+ * maxBatches and continues on the next run.
+ *
+ * Expired codes are evicted from this node's redirect cache. Other nodes need
+ * no eviction: their cache entries already expire at the link's expiresAt.
+ */
+@Component
+@ConditionalOnProperty(name = "url.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredUrlReaper {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final ExpiredUrlRepository expiredUrlRepository;
+
+    private final RedirectCache redirectCache;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    /** Seconds between the oldest overdue ACTIVE link's expiry and the end of the last sweep. */
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Counter expiredCounter;
+
+    private final Timer sweepTimer;
+
+    public ExpiredUrlReaper(ExpiredUrlRepository expiredUrlRepository, RedirectCache redirectCache,
+            MeterRegistry meterRegistry, @Value("${url.expiry.batch-size:1000}") int batchSize,
+            @Value("${url.expiry.max-batches-per-sweep:100}") int maxBatches) {
+        this.expiredUrlRepository = expiredUrlRepository;
+        this.redirectCache = redirectCache;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+
+        this.expiredCounter = Counter.builder("margdarshak.expiry.expired")
+                .description("Links transitioned from ACTIVE to EXPIRED").register(meterRegistry);
+        this.sweepTimer = Timer.builder("margdarshak.expiry.sweep").description("Duration of expiry sweeps")
+                .register(meterRegistry);
+        Gauge.builder("margdarshak.expiry.lag", lagSeconds, AtomicLong::get).baseUnit("seconds")
+                .description("Age of the oldest expired link still marked ACTIVE after the last sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${url.expiry.sweep-interval-ms:60000}",
+            initialDelayString = "${url.expiry.sweep-interval-ms:60000}")
+    public void sweep() {
+        long started = System.nanoTime();
+        long expired = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                List<String> codes = expiredUrlRepository.expireBatch(LocalDateTime.now(), batchSize);
+                codes.forEach(redirectCache::invalidate);
+                expiredCounter.increment(codes.size());
+                expired += codes.size();
+                if (codes.size() < batchSize) {
+                    break;
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime oldest = expiredUrlRepository.findOldestOverdue(now);
+            lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, now).toSeconds());
+        } catch (Exception e) {
+            log.error("Expiry sweep failed after {} links: {}", expired, e.getMessage());
+        } finally {
+            sweepTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        if (expired > 0) {
+            log.info("Expiry sweep marked {} links EXPIRED", expired);
+        }
+    }
+
+}
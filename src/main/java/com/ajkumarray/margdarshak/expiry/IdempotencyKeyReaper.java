@@ -0,0 +1,55 @@
+package com.ajkumarray.margdarshak.expiry;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.repository.IdempotencyKeyRepository;
+
+/**
+ * Deletes idempotency keys past their retention in bounded batches. A retry
+ * arriving after its key was purged is treated as a new request.
+ */
+@Component
+public class IdempotencyKeyReaper {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final long retentionHours;
+
+    private final int batchSize;
+
+    public IdempotencyKeyReaper(IdempotencyKeyRepository idempotencyKeyRepository,
+            @Value("${url.idempotency.retention-hours:24}") long retentionHours,
+            @Value("${url.idempotency.purge-batch-size:10000}") int batchSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.retentionHours = retentionHours;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${url.idempotency.purge-interval-ms:600000}",
+            initialDelayString = "${url.idempotency.purge-interval-ms:600000}")
+    public void purge() {
+        LocalDateTime cutOff = LocalDateTime.now().minusHours(retentionHours);
+        long purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = idempotencyKeyRepository.purgeBefore(cutOff, batchSize);
+                purged += deleted;
+            } while (deleted == batchSize);
+        } catch (Exception e) {
+            log.error("Idempotency key purge failed: {}", e.getMessage());
+        }
+        if (purged > 0) {
+            log.info("Purged {} idempotency keys older than {}", purged, cutOff);
+        }
+    }
+
+}
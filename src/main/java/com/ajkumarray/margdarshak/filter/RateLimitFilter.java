@@ -0,0 +1,125 @@
+package com.ajkumarray.margdarshak.filter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import com.ajkumarray.margdarshak.enums.ApplicationEnums;
+import com.ajkumarray.margdarshak.models.response.ErrorListResponse;
+import com.ajkumarray.margdarshak.models.response.ErrorResponse;
+import com.ajkumarray.margdarshak.ratelimit.RateLimitRoute;
+import com.ajkumarray.margdarshak.ratelimit.RateLimiter;
+import com.ajkumarray.margdarshak.util.MessageTranslator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies one route's token-bucket limit ahead of Spring Security. Callers
+ * over the limit get 429 with a Retry-After header and never reach the
+ * database.
+ *
+ * When the route is keyed by a caller-supplied header, an optional address
+ * route is checked first, so rotating the header value does not get a client
+ * past its per-address budget.
+ *
+ * Registered by {@code RateLimitConfig} only for the limited url patterns, so
+ * redirects and authenticated endpoints do not pass through it.
+ */
+public class RateLimitFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String METRIC = "margdarshak.ratelimit.decisions";
+
+    private final transient RateLimiter rateLimiter;
+
+    private final transient RateLimitRoute route;
+
+    private final transient RateLimitRoute addressRoute;
+
+    private final transient ObjectMapper objectMapper;
+
+    private final transient Counter allowedCounter;
+
+    private final transient Counter limitedCounter;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitRoute route, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this(rateLimiter, route, null, objectMapper, meterRegistry);
+    }
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitRoute route, RateLimitRoute addressRoute,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.route = route;
+        this.addressRoute = addressRoute;
+        this.objectMapper = objectMapper;
+        this.allowedCounter = Counter.builder(METRIC).tag("route", route.getName()).tag("outcome", "allowed")
+                .register(meterRegistry);
+        this.limitedCounter = Counter.builder(METRIC).tag("route", route.getName()).tag("outcome", "limited")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterNanos = addressRoute == null ? 0
+                : rateLimiter.tryAcquire(addressRoute, addressKey(request));
+        if (retryAfterNanos == 0) {
+            retryAfterNanos = rateLimiter.tryAcquire(route, callerKey(request));
+        }
+        if (retryAfterNanos == 0) {
+            allowedCounter.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        limitedCounter.increment();
+        sendTooManyRequests(response, retryAfterNanos);
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        String header = route.getKeyHeader() == null ? null : request.getHeader(route.getKeyHeader());
+        if (header != null && !header.isBlank()) {
+            return "u:" + header;
+        }
+        return addressKey(request);
+    }
+
+    private String addressKey(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void sendTooManyRequests(HttpServletResponse response, long retryAfterNanos) throws IOException {
+        String code = ApplicationEnums.RATE_LIMIT_EXCEEDED.getCode();
+        String message = MessageTranslator.toLocale(code);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setErrorCode(code);
+        errorResponse.setErrorMessage(message);
+        ErrorListResponse body = new ErrorListResponse();
+        body.setMessageCode(code);
+        body.setMessage(message);
+        body.setError(errorResponse);
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+}
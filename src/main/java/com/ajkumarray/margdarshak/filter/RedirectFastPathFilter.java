@@ -0,0 +1,149 @@
+package com.ajkumarray.margdarshak.filter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import com.ajkumarray.margdarshak.analytics.ClickEventRecorder;
+import com.ajkumarray.margdarshak.metrics.RedirectMetrics;
+import com.ajkumarray.margdarshak.service.UrlService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves short url redirects at the front of the servlet filter chain, ahead
+ * of Spring Security and the DispatcherServlet. Only single-segment GET/HEAD
+ * requests whose path looks like a short code are handled; everything else,
+ * and cache misses when the database fallback is disabled, continue down the
+ * regular chain to {@code RedirectController}.
+ *
+ * Registered by {@code RedirectFastPathConfig} when
+ * {@code redirect.fast-path.enabled=true}.
+ */
+public class RedirectFastPathFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String METRIC = "margdarshak.redirect.fastpath";
+
+    private static final int MAX_CODE_LENGTH = 32;
+
+    private final transient UrlService urlService;
+
+    private final transient ClickEventRecorder clickEventRecorder;
+
+    private final transient RedirectMetrics redirectMetrics;
+
+    private final boolean databaseFallback;
+
+    private final Set<String> reservedPaths;
+
+    private final transient Counter cacheHitCounter;
+
+    private final transient Counter databaseHitCounter;
+
+    private final transient Counter notFoundCounter;
+
+    private final transient Counter passThroughCounter;
+
+    public RedirectFastPathFilter(UrlService urlService, ClickEventRecorder clickEventRecorder,
+            RedirectMetrics redirectMetrics, boolean databaseFallback, Set<String> reservedPaths,
+            MeterRegistry meterRegistry) {
+        this.urlService = urlService;
+        this.clickEventRecorder = clickEventRecorder;
+        this.redirectMetrics = redirectMetrics;
+        this.databaseFallback = databaseFallback;
+        this.reservedPaths = reservedPaths;
+        this.cacheHitCounter = Counter.builder(METRIC).tag("outcome", "cache_hit").register(meterRegistry);
+        this.databaseHitCounter = Counter.builder(METRIC).tag("outcome", "db_hit").register(meterRegistry);
+        this.notFoundCounter = Counter.builder(METRIC).tag("outcome", "not_found").register(meterRegistry);
+        this.passThroughCounter = Counter.builder(METRIC).tag("outcome", "pass_through").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        String code = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? extractCode(request)
+                : null;
+        if (code == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        String originalUrl = urlService.getCachedOriginalUrl(code);
+        if (originalUrl != null) {
+            cacheHitCounter.increment();
+            sendRedirect(request, response, code, originalUrl);
+            redirectMetrics.recordFastPath(started);
+            return;
+        }
+        if (!databaseFallback) {
+            passThroughCounter.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        originalUrl = urlService.loadOriginalUrl(code);
+        if (originalUrl == null) {
+            notFoundCounter.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        } else {
+            databaseHitCounter.increment();
+            sendRedirect(request, response, code, originalUrl);
+        }
+        redirectMetrics.recordFastPath(started);
+    }
+
+    /**
+     * Returns the short code addressed by the request, or null when the path is
+     * not a single alphanumeric segment or is reserved for another handler.
+     */
+    private String extractCode(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int start = request.getContextPath().length() + 1;
+        int length = uri.length() - start;
+        if (length < 1 || length > MAX_CODE_LENGTH || uri.charAt(start - 1) != '/') {
+            return null;
+        }
+        for (int i = start; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            boolean alphaNumeric = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+            if (!alphaNumeric) {
+                return null;
+            }
+        }
+        String code = uri.substring(start);
+        return reservedPaths.contains(code) ? null : code;
+    }
+
+    private void sendRedirect(HttpServletRequest request, HttpServletResponse response, String code,
+            String originalUrl) {
+        response.setStatus(HttpServletResponse.SC_FOUND);
+        response.setHeader(HttpHeaders.LOCATION, isPlainAscii(originalUrl) ? originalUrl
+                : URI.create(originalUrl).toASCIIString());
+        clickEventRecorder.publish(code, request.getHeader(HttpHeaders.REFERER),
+                request.getHeader(HttpHeaders.USER_AGENT), request.getRemoteAddr());
+    }
+
+    private boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c <= ' ' || c >= 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -35,6 +35,9 @@ public class ApplicationExceptionHandler {
         if (ApplicationEnums.INVALID_HEADER_REQUEST.getCode().equals(ex.getErrorCode())) {
             statusCode = HttpStatus.BAD_REQUEST;
         }
+        if (ApplicationEnums.IDEMPOTENCY_KEY_REUSED.getCode().equals(ex.getErrorCode())) {
+            statusCode = HttpStatus.UNPROCESSABLE_ENTITY;
+        }
         return new ResponseEntity<>(response, statusCode);
     }
 
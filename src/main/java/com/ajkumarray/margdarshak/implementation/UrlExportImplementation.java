@@ -0,0 +1,153 @@
+package com.ajkumarray.margdarshak.implementation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ajkumarray.margdarshak.enums.ExportFormatEnums;
+import com.ajkumarray.margdarshak.models.projection.UrlExportRow;
+import com.ajkumarray.margdarshak.repository.UrlExportRepository;
+import com.ajkumarray.margdarshak.service.UrlExportService;
+import com.ajkumarray.margdarshak.util.CommonFunctionHelper;
+import com.ajkumarray.margdarshak.util.UrlHelper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams a user's urls straight from a database cursor to the response.
+ *
+ * Rows are written as they are fetched, so memory use does not depend on the
+ * number of urls. When the client disconnects, the failed write aborts the
+ * query and rolls back the read-only transaction, which closes the cursor on
+ * the server.
+ */
+@Component
+public class UrlExportImplementation implements UrlExportService {
+
+    private static final String CSV_HEADER = "code,shortUrl,url,status,clickCount,createdAt,expiresAt,lastAccessedAt";
+
+    @Autowired
+    private CommonFunctionHelper commonFunctionHelper;
+
+    @Autowired
+    private UrlExportRepository urlExportRepository;
+
+    @Autowired
+    private UrlHelper urlHelper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void exportUrls(String userCode, ExportFormatEnums format, OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            if (format == ExportFormatEnums.CSV) {
+                exportCsv(userCode, out, transaction);
+            } else {
+                exportNdjson(userCode, out, transaction);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            commonFunctionHelper.commonLoggerHelper(e, "UrlExportImplementation -> export aborted by client");
+        }
+    }
+
+    private void exportNdjson(String userCode, OutputStream out, TransactionTemplate transaction)
+            throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        transaction.executeWithoutResult(status -> urlExportRepository.streamOwnedUrls(userCode, row -> {
+            try {
+                generator.writeStartObject();
+                generator.writeStringField("code", row.getCode());
+                generator.writeStringField("shortUrl", urlHelper.shortUrlFor(row.getCode()));
+                generator.writeStringField("url",
+                        urlHelper.toDestination(row.getUrl(), row.getUrlCompressed(), row.getUrlFormat()));
+                generator.writeStringField("status", row.getStatus());
+                generator.writeNumberField("clickCount", row.getClickCount());
+                generator.writeStringField("createdAt", format(row.getCreatedAt()));
+                generator.writeStringField("expiresAt", format(row.getExpiresAt()));
+                generator.writeStringField("lastAccessedAt", format(row.getLastAccessedAt()));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        generator.close();
+    }
+
+    private void exportCsv(String userCode, OutputStream out, TransactionTemplate transaction) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        transaction.executeWithoutResult(status -> urlExportRepository.streamOwnedUrls(userCode, row -> {
+            try {
+                writeCsvRow(writer, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, UrlExportRow row) throws IOException {
+        writeCsvField(writer, row.getCode());
+        writer.write(',');
+        writeCsvField(writer, urlHelper.shortUrlFor(row.getCode()));
+        writer.write(',');
+        writeCsvField(writer, urlHelper.toDestination(row.getUrl(), row.getUrlCompressed(), row.getUrlFormat()));
+        writer.write(',');
+        writeCsvField(writer, row.getStatus());
+        writer.write(',');
+        writer.write(Long.toString(row.getClickCount()));
+        writer.write(',');
+        writeCsvField(writer, format(row.getCreatedAt()));
+        writer.write(',');
+        writeCsvField(writer, format(row.getExpiresAt()));
+        writer.write(',');
+        writeCsvField(writer, format(row.getLastAccessedAt()));
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a field, quoting it when it contains a delimiter, quote or line
+     * break (RFC 4180).
+     */
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String format(LocalDateTime value) {
+        return value == null ? null : value.toString();
+    }
+
+}
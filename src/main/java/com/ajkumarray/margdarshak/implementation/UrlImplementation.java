@@ -1,30 +1,63 @@
 package com.ajkumarray.margdarshak.implementation;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ajkumarray.margdarshak.analytics.ClickCounter;
+import com.ajkumarray.margdarshak.analytics.HotLinkTracker;
+import com.ajkumarray.margdarshak.analytics.HyperLogLog;
+import com.ajkumarray.margdarshak.cache.RedirectCache;
+import com.ajkumarray.margdarshak.cache.ShortCodeFilter;
+import com.ajkumarray.margdarshak.constants.UrlConstants;
 import com.ajkumarray.margdarshak.entity.UrlMasterEntity;
 import com.ajkumarray.margdarshak.enums.ApplicationEnums;
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
 import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
 import com.ajkumarray.margdarshak.exception.ApplicationException;
+import com.ajkumarray.margdarshak.metrics.RedirectMetrics;
+import com.ajkumarray.margdarshak.models.projection.IdempotencyKeyProjection;
+import com.ajkumarray.margdarshak.models.projection.RedirectTargetProjection;
+import com.ajkumarray.margdarshak.models.projection.UrlCursorPosition;
+import com.ajkumarray.margdarshak.models.request.UrlBatchRequest;
 import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
+import com.ajkumarray.margdarshak.models.response.CursorPagedResponse;
 import com.ajkumarray.margdarshak.models.response.PagedResponse;
+import com.ajkumarray.margdarshak.models.response.UrlBatchItemResponse;
+import com.ajkumarray.margdarshak.models.response.UrlBatchResponse;
 import com.ajkumarray.margdarshak.models.response.UrlMasterResponse;
+import com.ajkumarray.margdarshak.models.response.UrlStatsBucketResponse;
+import com.ajkumarray.margdarshak.models.response.UrlStatsResponse;
+import com.ajkumarray.margdarshak.repository.ClickRollupRepository;
+import com.ajkumarray.margdarshak.repository.IdempotencyKeyRepository;
+import com.ajkumarray.margdarshak.repository.PrimaryRedirectTargetRepository;
+import com.ajkumarray.margdarshak.repository.UniqueVisitorRepository;
+import com.ajkumarray.margdarshak.repository.UrlBatchRepository;
 import com.ajkumarray.margdarshak.repository.UrlRepository;
 import com.ajkumarray.margdarshak.service.UrlService;
+import com.ajkumarray.margdarshak.shortcode.ShortCodeIndexMigration;
 import com.ajkumarray.margdarshak.util.UrlHelper;
 import com.ajkumarray.margdarshak.util.CommonFunctionHelper;
 import com.ajkumarray.margdarshak.util.MessageTranslator;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
 /**
  * Implementation of the URL service interface. Handles all URL shortening
  * operations including creation, retrieval, and management.
@@ -41,11 +74,110 @@ public class UrlImplementation implements UrlService {
     @Autowired
     private UrlHelper urlHelper;
 
+    @Autowired
+    private RedirectCache redirectCache;
+
+    @Autowired
+    private ShortCodeFilter shortCodeFilter;
+
+    @Autowired
+    private ClickCounter clickCounter;
+
+    @Autowired
+    private HotLinkTracker hotLinkTracker;
+
+    @Autowired
+    private RedirectMetrics redirectMetrics;
+
+    @Autowired
+    private UrlBatchRepository urlBatchRepository;
+
+    @Autowired
+    private ClickRollupRepository clickRollupRepository;
+
+    @Autowired
+    private UniqueVisitorRepository uniqueVisitorRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ShortCodeIndexMigration shortCodeIndexMigration;
+
+    /** Present only when read-only transactions may be routed to a replica. */
+    @Autowired(required = false)
+    private PrimaryRedirectTargetRepository primaryRedirectTargetRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${url.dedup.enabled:false}")
+    private boolean dedupEnabled;
+
+    @Value("${url.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    @Value("${url.stats.max-buckets:10000}")
+    private long maxStatsBuckets;
+
+    private DistributionSummary batchSizeSummary;
+
+    @PostConstruct
+    public void init() {
+        batchSizeSummary = DistributionSummary.builder("margdarshak.url.create.batch.size")
+                .description("Urls requested per bulk creation").register(meterRegistry);
+    }
+
     @Override
+    @Timed(value = "margdarshak.url.create", description = "Short url creation")
     public UrlMasterResponse createShortUrl(UrlMasterRequest request, String userCode) {
+        return createShortUrl(request, userCode, null);
+    }
+
+    /**
+     * Creates a short url. With url.dedup.enabled, a live link of the same
+     * owner to the same destination is returned instead of inserting a new
+     * row. With an idempotency key, a retry of the same request returns the url
+     * created by the first attempt.
+     */
+    @Override
+    @Timed(value = "margdarshak.url.create", description = "Short url creation")
+    public UrlMasterResponse createShortUrl(UrlMasterRequest request, String userCode, String idempotencyKey) {
+        validateUrlRequest(request);
+        if (idempotencyKey != null
+                && (idempotencyKey.isBlank() || idempotencyKey.length() > UrlConstants.MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new ApplicationException(
+                    MessageTranslator.toLocale(ApplicationEnums.INVALID_HEADER_REQUEST.getCode()),
+                    ApplicationEnums.INVALID_HEADER_REQUEST.getCode());
+        }
         try {
-            UrlMasterEntity urlEntity = urlRepository.save(urlHelper.prepareUrlEntity(request, userCode));
+            long requestHash = 0;
+            if (idempotencyKey != null) {
+                requestHash = urlHelper.hashCreateRequest(request);
+                Optional<UrlMasterEntity> replayed = findIdempotentResult(userCode, idempotencyKey, requestHash);
+                if (replayed.isPresent()) {
+                    return urlHelper.prepareUrlResponse(replayed.get());
+                }
+            }
+
+            UrlMasterEntity urlEntity = dedupEnabled ? findLiveDuplicate(request, userCode).orElse(null) : null;
+            boolean created = urlEntity == null;
+            if (created) {
+                urlEntity = saveWithUniqueCode(request, userCode);
+                shortCodeFilter.add(urlEntity.getCode());
+            }
+
+            if (idempotencyKey != null
+                    && !idempotencyKeyRepository.insert(userCode, idempotencyKey, requestHash, urlEntity.getId())) {
+                // A concurrent retry recorded the key first; answer with its url and drop ours.
+                if (created) {
+                    urlRepository.deleteById(urlEntity.getId());
+                }
+                urlEntity = findIdempotentResult(userCode, idempotencyKey, requestHash).orElseThrow();
+            }
             return urlHelper.prepareUrlResponse(urlEntity);
+        } catch (ApplicationException e) {
+            throw e;
         } catch (Exception e) {
             commonFunctionHelper.commonLoggerHelper(e, "UrlImplementation -> createShortUrl failed");
             throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.URL_CREATION_FAILED.getCode()),
@@ -54,6 +186,64 @@ public class UrlImplementation implements UrlService {
     }
 
     @Override
+    @Timed(value = "margdarshak.url.create.batch", description = "Bulk short url creation")
+    public UrlBatchResponse createShortUrls(UrlBatchRequest request, String userCode) {
+        List<UrlMasterRequest> urls = request == null ? null : request.getUrls();
+        if (urls == null || urls.isEmpty()) {
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_URL_REQUEST.getCode()),
+                    ApplicationEnums.INVALID_URL_REQUEST.getCode());
+        }
+        if (urls.size() > maxBatchSize) {
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.BATCH_LIMIT_EXCEEDED.getCode()),
+                    ApplicationEnums.BATCH_LIMIT_EXCEEDED.getCode());
+        }
+        batchSizeSummary.record(urls.size());
+
+        UrlBatchItemResponse[] items = new UrlBatchItemResponse[urls.size()];
+        List<UrlMasterEntity> pending = new ArrayList<>(urls.size());
+        List<Integer> pendingIndexes = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            UrlMasterRequest url = urls.get(i);
+            if (!urlHelper.isValidUrlRequest(url)) {
+                items[i] = batchFailure(i, ApplicationEnums.INVALID_URL_REQUEST);
+                continue;
+            }
+            UrlMasterEntity urlEntity = urlHelper.prepareUrlEntity(url, userCode);
+            if (urlEntity.getStatus() == null) {
+                urlEntity.setStatus(UrlStatusEnums.ACTIVE);
+            }
+            pending.add(urlEntity);
+            pendingIndexes.add(i);
+        }
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<UrlMasterEntity> collided = new ArrayList<>();
+            List<Integer> collidedIndexes = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += UrlBatchRepository.MAX_ROWS_PER_STATEMENT) {
+                int to = Math.min(from + UrlBatchRepository.MAX_ROWS_PER_STATEMENT, pending.size());
+                insertBatchChunk(pending.subList(from, to), pendingIndexes.subList(from, to), items, collided,
+                        collidedIndexes);
+            }
+            if (attempt >= UrlConstants.MAX_SHORT_URL_GENERATION_RETRIES) {
+                collidedIndexes.forEach(index -> items[index] = batchFailure(index,
+                        ApplicationEnums.URL_CREATION_FAILED));
+                break;
+            }
+            collided.forEach(urlHelper::reassignCode);
+            pending = collided;
+            pendingIndexes = collidedIndexes;
+        }
+
+        int created = 0;
+        for (UrlBatchItemResponse item : items) {
+            created += item.isSuccess() ? 1 : 0;
+        }
+        return new UrlBatchResponse(items.length, created, items.length - created, List.of(items));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "margdarshak.url.list", description = "Listing a user's urls")
     public PagedResponse<UrlMasterResponse> getAllUrls(String userCode, int page, int size) {
         try {
             int safePage = Math.max(page, 0);
@@ -73,12 +263,46 @@ public class UrlImplementation implements UrlService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "margdarshak.url.list", description = "Listing a user's urls")
+    public CursorPagedResponse<UrlMasterResponse> getUrlsByCursor(String userCode, String cursor, int size,
+            boolean includeTotal) {
+        UrlCursorPosition position = commonFunctionHelper.isEmptyOrBlank(cursor) ? null
+                : urlHelper.decodeCursor(cursor);
+        try {
+            int safeSize = Math.min(Math.max(size, 1), 100);
+            String status = UrlStatusEnums.ACTIVE.name();
+            List<UrlMasterEntity> rows = position == null
+                    ? urlRepository.findOwnedFirstPage(userCode, status, safeSize + 1)
+                    : urlRepository.findOwnedPageAfter(userCode, status, position.getCreatedAt(), position.getId(),
+                            safeSize + 1);
+            boolean hasNext = rows.size() > safeSize;
+            List<UrlMasterEntity> page = hasNext ? rows.subList(0, safeSize) : rows;
+            List<UrlMasterResponse> content = page.stream().map(urlHelper::prepareUrlResponse)
+                    .collect(Collectors.toList());
+            String nextCursor = hasNext ? urlHelper.encodeCursor(page.get(page.size() - 1)) : null;
+            Long totalElements = includeTotal
+                    ? urlRepository.countByCreatedByAndStatusAndDeleted(userCode, UrlStatusEnums.ACTIVE, false)
+                    : null;
+            return new CursorPagedResponse<>(content, safeSize, hasNext, nextCursor, totalElements);
+        } catch (Exception e) {
+            commonFunctionHelper.commonLoggerHelper(e, "UrlImplementation -> getUrlsByCursor failed");
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.FAILED_MESSAGE.getCode()),
+                    ApplicationEnums.FAILED_MESSAGE.getCode());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public UrlMasterResponse getUrlDetail(String code) {
         try {
             Optional<UrlMasterEntity> urlEntity = urlRepository.findByCodeAndStatusAndDeleted(code,
                     UrlStatusEnums.ACTIVE, false);
             if (urlEntity.isPresent()) {
-                return urlHelper.prepareUrlResponse(urlEntity.get());
+                UrlMasterResponse response = urlHelper.prepareUrlResponse(urlEntity.get());
+                Long uniqueVisitors = uniqueVisitorRepository.findVisitors(code);
+                response.setUniqueVisitors(uniqueVisitors == null ? 0L : uniqueVisitors);
+                return response;
             } else {
                 throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_URL_CODE.getCode()),
                         ApplicationEnums.INVALID_URL_CODE.getCode());
@@ -90,14 +314,49 @@ public class UrlImplementation implements UrlService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public UrlStatsResponse getUrlStats(String code, LocalDateTime from, LocalDateTime to,
+            StatsGranularityEnums granularity) {
+        StatsGranularityEnums safeGranularity = granularity == null ? StatsGranularityEnums.DAY : granularity;
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = (from == null ? end.minusDays(30) : from).truncatedTo(safeGranularity.getUnit());
+        if (!start.isBefore(end) || safeGranularity.getUnit().between(start, end) > maxStatsBuckets) {
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_STATS_RANGE.getCode()),
+                    ApplicationEnums.INVALID_STATS_RANGE.getCode());
+        }
+        try {
+            List<UrlStatsBucketResponse> buckets = clickRollupRepository.findBuckets(code, safeGranularity, start,
+                    end);
+            long totalClicks = buckets.stream().mapToLong(UrlStatsBucketResponse::getClicks).sum();
+            // Visitor sketches are kept per day, so finer ranges would count
+            // visitors outside the range and are not answered.
+            Long uniqueVisitors = null;
+            if (safeGranularity == StatsGranularityEnums.DAY) {
+                HyperLogLog visitors = new HyperLogLog();
+                uniqueVisitorRepository.findDaily(code, start.toLocalDate(), end.minusNanos(1).toLocalDate())
+                        .forEach(sketch -> visitors.merge(HyperLogLog.fromBytes(sketch)));
+                uniqueVisitors = visitors.estimate();
+            }
+            return new UrlStatsResponse(code, safeGranularity, start, end, totalClicks, uniqueVisitors, buckets);
+        } catch (Exception e) {
+            commonFunctionHelper.commonLoggerHelper(e, "UrlImplementation -> getUrlStats failed");
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.FAILED_MESSAGE.getCode()),
+                    ApplicationEnums.FAILED_MESSAGE.getCode());
+        }
+    }
+
     @Override
     public UrlMasterResponse updateUrl(String code, UrlMasterRequest request) {
+        validateUrlRequest(request);
         try {
             Optional<UrlMasterEntity> urlEntity = urlRepository.findByCodeAndStatusAndDeleted(code,
                     UrlStatusEnums.ACTIVE, false);
             if (urlEntity.isPresent()) {
                 UrlMasterEntity url = urlHelper.prepareUrlUpdateEntity(urlEntity.get(), request);
                 urlRepository.save(url);
+                redirectCache.invalidate(code);
+                shortCodeFilter.add(code);
                 return urlHelper.prepareUrlResponse(url);
             } else {
                 throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_URL_CODE.getCode()),
@@ -112,13 +371,180 @@ public class UrlImplementation implements UrlService {
 
     @Override
     public String getOriginalUrl(String code) {
-        Optional<UrlMasterEntity> urlEntity = urlRepository.findByCodeAndStatusAndExpiresAtAfterAndDeleted(code,
-                UrlStatusEnums.ACTIVE, LocalDateTime.now(), false);
-        if (urlEntity.isPresent()) {
-            UrlMasterEntity url = urlEntity.get();
-            return urlHelper.decodeUrl(url.getUrl());
+        String cachedUrl = getCachedOriginalUrl(code);
+        if (cachedUrl != null) {
+            return cachedUrl;
+        }
+        return loadOriginalUrl(code);
+    }
+
+    @Override
+    public String loadOriginalUrl(String code) {
+        if (!shortCodeFilter.mightExist(code)) {
+            redirectMetrics.filtered();
+            return null;
+        }
+        RedirectTargetProjection target = urlRepository.findRedirectTarget(code).orElse(null);
+        if (primaryRedirectTargetRepository != null && !isServable(target)) {
+            // A replica may not have replayed a recent create or reactivation yet;
+            // recording that as missing would cache the 404
+            target = primaryRedirectTargetRepository.findRedirectTarget(code).orElse(null);
+        }
+        if (target == null || target.getStatus() == UrlStatusEnums.INACTIVE) {
+            redirectMetrics.notFound();
+            shortCodeFilter.recordMissing(code);
+            return null;
+        }
+        if (target.getStatus() == UrlStatusEnums.EXPIRED || !target.getExpiresAt().isAfter(LocalDateTime.now())) {
+            redirectMetrics.expired();
+            shortCodeFilter.recordMissing(code);
+            return null;
+        }
+        String originalUrl = urlHelper.toDestination(target.getUrl(), target.getUrlCompressed(),
+                target.getUrlFormat());
+        redirectCache.put(code, originalUrl, target.getExpiresAt());
+        clickCounter.record(code);
+        hotLinkTracker.record(code);
+        redirectMetrics.databaseHit();
+        return originalUrl;
+    }
+
+    @Override
+    public String getCachedOriginalUrl(String code) {
+        String cachedUrl = redirectCache.get(code);
+        if (cachedUrl != null) {
+            clickCounter.record(code);
+            hotLinkTracker.record(code);
+            redirectMetrics.cacheHit();
+        }
+        return cachedUrl;
+    }
+
+    /**
+     * Inserts one chunk of a batch and records the outcome of each item. Items
+     * whose code was already taken are handed back for a retry with a new code;
+     * a failed statement fails the whole chunk but not the rest of the batch.
+     */
+    private void insertBatchChunk(List<UrlMasterEntity> chunk, List<Integer> indexes, UrlBatchItemResponse[] items,
+            List<UrlMasterEntity> collided, List<Integer> collidedIndexes) {
+        Map<String, Long> inserted;
+        try {
+            inserted = urlBatchRepository.insertIgnoringConflicts(chunk);
+        } catch (Exception e) {
+            commonFunctionHelper.commonLoggerHelper(e, "UrlImplementation -> createShortUrls chunk failed");
+            indexes.forEach(index -> items[index] = batchFailure(index, ApplicationEnums.URL_CREATION_FAILED));
+            return;
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            UrlMasterEntity urlEntity = chunk.get(i);
+            Long id = inserted.get(urlEntity.getCode());
+            if (id == null) {
+                collided.add(urlEntity);
+                collidedIndexes.add(indexes.get(i));
+                continue;
+            }
+            urlEntity.setId(id);
+            shortCodeFilter.add(urlEntity.getCode());
+            UrlBatchItemResponse item = new UrlBatchItemResponse();
+            item.setIndex(indexes.get(i));
+            item.setSuccess(true);
+            item.setUrl(urlHelper.prepareUrlResponse(urlEntity));
+            items[indexes.get(i)] = item;
+        }
+    }
+
+    private UrlBatchItemResponse batchFailure(int index, ApplicationEnums error) {
+        UrlBatchItemResponse item = new UrlBatchItemResponse();
+        item.setIndex(index);
+        item.setSuccess(false);
+        item.setErrorCode(error.getCode());
+        item.setErrorMessage(MessageTranslator.toLocale(error.getCode()));
+        return item;
+    }
+
+    /**
+     * Destinations are stored and redirected to as given, so they must pass
+     * validation before they are written.
+     */
+    private void validateUrlRequest(UrlMasterRequest request) {
+        if (!urlHelper.isValidUrlRequest(request)) {
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_URL_REQUEST.getCode()),
+                    ApplicationEnums.INVALID_URL_REQUEST.getCode());
+        }
+    }
+
+    /**
+     * Returns the url recorded for the idempotency key, or empty when the key
+     * is new.
+     *
+     * @throws ApplicationException when the key was used for a different
+     *                              request
+     */
+    private Optional<UrlMasterEntity> findIdempotentResult(String userCode, String idempotencyKey,
+            long requestHash) {
+        Optional<IdempotencyKeyProjection> key = idempotencyKeyRepository.find(userCode, idempotencyKey);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        if (key.get().getRequestHash() != requestHash) {
+            throw new ApplicationException(
+                    MessageTranslator.toLocale(ApplicationEnums.IDEMPOTENCY_KEY_REUSED.getCode()),
+                    ApplicationEnums.IDEMPOTENCY_KEY_REUSED.getCode());
+        }
+        return urlRepository.findById(key.get().getUrlId());
+    }
+
+    /**
+     * Finds a live link of the owner to the same destination with one probe of
+     * the owner hash index. Its expiry is extended when the request asks for a
+     * later one. Concurrent creates of the same destination can still insert
+     * two rows; deduplication is best effort.
+     */
+    private Optional<UrlMasterEntity> findLiveDuplicate(UrlMasterRequest request, String userCode) {
+        if (request.getStatus() != UrlStatusEnums.ACTIVE || request.getExpirationDays() == null) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Optional<UrlMasterEntity> duplicate = urlRepository
+                .findLiveByOwnerAndUrlHash(userCode, urlHelper.hashUrl(request.getUrl()), now).stream()
+                .filter(url -> urlHelper.isSameDestination(url, request.getUrl())).findFirst();
+        duplicate.ifPresent(url -> {
+            LocalDateTime expiresAt = now.plusDays(request.getExpirationDays());
+            if (url.getExpiresAt().isBefore(expiresAt)) {
+                urlRepository.save(urlHelper.prepareUrlUpdateExpireEntity(url, request.getExpirationDays()));
+                redirectCache.invalidate(url.getCode());
+            }
+        });
+        return duplicate;
+    }
+
+    /**
+     * Saves a new url, drawing a fresh code if the pooled one is already taken,
+     * e.g. a code reclaimed from an abandoned lease or one claimed by an
+     * imported link. Collisions are reported by the unique code index; until
+     * it is built the code is looked up before saving.
+     */
+    private UrlMasterEntity saveWithUniqueCode(UrlMasterRequest request, String userCode) {
+        for (int attempt = 1;; attempt++) {
+            UrlMasterEntity urlEntity = urlHelper.prepareUrlEntity(request, userCode);
+            if (!shortCodeIndexMigration.isIndexReady() && urlRepository.existsByCode(urlEntity.getCode())
+                    && attempt < UrlConstants.MAX_SHORT_URL_GENERATION_RETRIES) {
+                continue;
+            }
+            try {
+                return urlRepository.save(urlEntity);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= UrlConstants.MAX_SHORT_URL_GENERATION_RETRIES) {
+                    throw e;
+                }
+                commonFunctionHelper.commonLoggerHelper(e, "UrlImplementation -> short code collision, retrying");
+            }
         }
-        return null;
     }
 
-}
\ No newline at end of file
+    private static boolean isServable(RedirectTargetProjection target) {
+        return target != null && target.getStatus() == UrlStatusEnums.ACTIVE
+                && target.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+}
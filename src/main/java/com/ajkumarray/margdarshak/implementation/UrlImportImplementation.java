@@ -0,0 +1,324 @@
+package com.ajkumarray.margdarshak.implementation;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ajkumarray.margdarshak.cache.ShortCodeFilter;
+import com.ajkumarray.margdarshak.enums.ApplicationEnums;
+import com.ajkumarray.margdarshak.enums.ImportStatusEnums;
+import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+import com.ajkumarray.margdarshak.exception.ApplicationException;
+import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
+import com.ajkumarray.margdarshak.models.response.UrlImportJobResponse;
+import com.ajkumarray.margdarshak.models.response.UrlImportRejectionResponse;
+import com.ajkumarray.margdarshak.repository.UrlImportRepository;
+import com.ajkumarray.margdarshak.service.UrlImportService;
+import com.ajkumarray.margdarshak.util.CommonFunctionHelper;
+import com.ajkumarray.margdarshak.util.MessageTranslator;
+import com.ajkumarray.margdarshak.util.UrlHelper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Imports existing short links, with their original codes, from a CSV file
+ * with the columns {@code code,url,expirationDays[,status]}.
+ *
+ * The upload is stored on local disk and processed in the background in
+ * chunks. Each chunk is validated in memory, COPY'd into an unlogged staging
+ * table and merged into url_master with a single INSERT ... SELECT in one
+ * transaction, which also records rejected rows and the line the job has
+ * committed up to. A failed or interrupted job therefore resumes, on the node
+ * holding the file, from the first line of its last uncommitted chunk.
+ *
+ * Quoted fields may contain commas and quotes but not line breaks.
+ */
+@Component
+public class UrlImportImplementation implements UrlImportService {
+
+    private static final Pattern CODE_PATTERN = Pattern.compile("^[a-zA-Z0-9]{1,32}$");
+
+    private static final String METRIC = "margdarshak.import.rows";
+
+    @Autowired
+    private CommonFunctionHelper commonFunctionHelper;
+
+    @Autowired
+    private UrlImportRepository urlImportRepository;
+
+    @Autowired
+    private UrlHelper urlHelper;
+
+    @Autowired
+    private ShortCodeFilter shortCodeFilter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${url.import.directory:${java.io.tmpdir}/margdarshak-imports}")
+    private String importDirectory;
+
+    @Value("${url.import.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${url.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${url.import.stale-after-seconds:300}")
+    private long staleAfterSeconds;
+
+    private ExecutorService executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(maxConcurrentJobs);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING and become resumable once stale.
+        executor.shutdownNow();
+    }
+
+    @Override
+    public UrlImportJobResponse startImport(String userCode, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_IMPORT_FILE.getCode()),
+                    ApplicationEnums.INVALID_IMPORT_FILE.getCode());
+        }
+        long jobId = urlImportRepository.createJob(userCode, file.getOriginalFilename());
+        try {
+            Path path = jobFile(jobId);
+            Files.createDirectories(path.getParent());
+            file.transferTo(path);
+        } catch (Exception e) {
+            commonFunctionHelper.commonLoggerHelper(e, "UrlImportImplementation -> storing upload failed");
+            urlImportRepository.updateStatus(jobId, ImportStatusEnums.FAILED, "Upload could not be stored");
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_IMPORT_FILE.getCode()),
+                    ApplicationEnums.INVALID_IMPORT_FILE.getCode());
+        }
+        executor.execute(() -> runJob(jobId, userCode, 0));
+        return getImportJob(userCode, jobId);
+    }
+
+    @Override
+    public UrlImportJobResponse getImportJob(String userCode, long jobId) {
+        return urlImportRepository.findJob(jobId, userCode)
+                .orElseThrow(() -> new ApplicationException(
+                        MessageTranslator.toLocale(ApplicationEnums.IMPORT_JOB_NOT_FOUND.getCode()),
+                        ApplicationEnums.IMPORT_JOB_NOT_FOUND.getCode()));
+    }
+
+    @Override
+    public UrlImportJobResponse resumeImport(String userCode, long jobId) {
+        UrlImportJobResponse job = getImportJob(userCode, jobId);
+        if (!Files.exists(jobFile(jobId)) || !urlImportRepository.claimForResume(jobId, userCode,
+                LocalDateTime.now().minusSeconds(staleAfterSeconds))) {
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.IMPORT_NOT_RESUMABLE.getCode()),
+                    ApplicationEnums.IMPORT_NOT_RESUMABLE.getCode());
+        }
+        executor.execute(() -> runJob(jobId, userCode, job.getLastCommittedLine()));
+        return getImportJob(userCode, jobId);
+    }
+
+    @Override
+    public List<UrlImportRejectionResponse> getImportRejections(String userCode, long jobId, long afterLine,
+            int size) {
+        getImportJob(userCode, jobId);
+        return urlImportRepository.findRejections(jobId, Math.max(afterLine, 0), Math.min(Math.max(size, 1), 1000));
+    }
+
+    private Path jobFile(long jobId) {
+        return Paths.get(importDirectory, jobId + ".csv");
+    }
+
+    private void runJob(long jobId, String userCode, long resumeAfterLine) {
+        Path path = jobFile(jobId);
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Chunk chunk = new Chunk();
+            long lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (lineNo <= resumeAfterLine || (lineNo == 1 && isHeader(line)) || line.isBlank()) {
+                    continue;
+                }
+                stageLine(jobId, lineNo, line, chunk);
+                if (chunk.rows >= chunkSize) {
+                    commitChunk(jobId, userCode, chunk);
+                    chunk = new Chunk();
+                }
+            }
+            chunk.lastLine = Math.max(lineNo, resumeAfterLine);
+            commitChunk(jobId, userCode, chunk);
+            urlImportRepository.updateStatus(jobId, ImportStatusEnums.COMPLETED, null);
+            Files.deleteIfExists(path);
+        } catch (Exception e) {
+            commonFunctionHelper.commonLoggerHelper(e, "UrlImportImplementation -> import job " + jobId + " failed");
+            urlImportRepository.updateStatus(jobId, ImportStatusEnums.FAILED, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private boolean isHeader(String line) {
+        return line.regionMatches(true, 0, "code,", 0, 5);
+    }
+
+    /**
+     * Validates one line and adds it to the chunk either as a COPY row or as a
+     * rejection.
+     */
+    private void stageLine(long jobId, long lineNo, String line, Chunk chunk) {
+        chunk.rows++;
+        chunk.lastLine = lineNo;
+        List<String> fields = parseCsvLine(line);
+        String reason = null;
+        UrlStatusEnums status = UrlStatusEnums.ACTIVE;
+        UrlMasterRequest request = new UrlMasterRequest();
+        if (fields == null || fields.size() < 3 || fields.size() > 4) {
+            reason = "MALFORMED_LINE";
+        } else if (!CODE_PATTERN.matcher(fields.get(0)).matches()) {
+            reason = "INVALID_CODE";
+        } else {
+            request.setUrl(fields.get(1));
+            request.setExpirationDays(parseDays(fields.get(2)));
+            if (!urlHelper.isValidUrlRequest(request)) {
+                reason = "INVALID_URL_OR_EXPIRATION";
+            } else if (fields.size() == 4 && !fields.get(3).isBlank()) {
+                try {
+                    status = UrlStatusEnums.valueOf(fields.get(3).trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    reason = "INVALID_STATUS";
+                }
+            }
+        }
+        if (reason != null) {
+            chunk.rejections.add(new UrlImportRejectionResponse(lineNo, reason, line));
+            return;
+        }
+
+        StringBuilder copy = chunk.copyRows;
+        copy.append(jobId).append(',').append(lineNo).append(',');
+        appendCsvField(copy, fields.get(0)).append(',');
+        appendCsvField(copy, request.getUrl()).append(',');
+        copy.append(LocalDateTime.now().plusDays(request.getExpirationDays())).append(',');
+        copy.append(status.name()).append(',');
+        appendCsvField(copy, line).append('\n');
+        chunk.staged++;
+    }
+
+    private Integer parseDays(String value) {
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the chunk's rows, rejections and progress in one transaction.
+     */
+    private void commitChunk(long jobId, String userCode, Chunk chunk) {
+        List<String> inserted = transactionTemplate.execute(status -> {
+            List<String> codes = List.of();
+            if (chunk.staged > 0) {
+                urlImportRepository.copyIntoStaging(new StringReader(chunk.copyRows.toString()));
+                codes = urlImportRepository.mergeStaging(jobId, userCode);
+            }
+            if (!chunk.rejections.isEmpty()) {
+                urlImportRepository.insertRejections(jobId, chunk.rejections);
+            }
+            long rejected = chunk.rejections.size() + chunk.staged - codes.size();
+            urlImportRepository.recordProgress(jobId, chunk.lastLine, chunk.rows, codes.size(), rejected);
+            return codes;
+        });
+        inserted.forEach(shortCodeFilter::add);
+        meterRegistry.counter(METRIC, "outcome", "imported").increment(inserted.size());
+        meterRegistry.counter(METRIC, "outcome", "rejected").increment(chunk.rows - inserted.size());
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting, no embedded line breaks).
+     *
+     * @return the fields, or null when a quoted field is not terminated
+     */
+    private List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private StringBuilder appendCsvField(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.append(c);
+            if (c == '"') {
+                out.append('"');
+            }
+        }
+        return out.append('"');
+    }
+
+    private static final class Chunk {
+
+        private final StringBuilder copyRows = new StringBuilder();
+
+        private final List<UrlImportRejectionResponse> rejections = new ArrayList<>();
+
+        private long rows;
+
+        private long staged;
+
+        private long lastLine;
+    }
+
+}
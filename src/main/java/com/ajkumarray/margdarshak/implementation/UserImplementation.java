@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ajkumarray.margdarshak.models.request.UserMasterRequest;
 import com.ajkumarray.margdarshak.models.request.UserLoginRequest;
@@ -20,6 +21,8 @@ import com.ajkumarray.margdarshak.util.MessageTranslator;
 import com.ajkumarray.margdarshak.models.response.AuthResponse;
 import com.ajkumarray.margdarshak.models.response.UserMasterResponse;
 
+import io.micrometer.core.annotation.Timed;
+
 @Component
 public class UserImplementation implements UserService {
 
@@ -57,6 +60,7 @@ public class UserImplementation implements UserService {
     }
 
     @Override
+    @Timed(value = "margdarshak.auth.login", description = "User login")
     public AuthResponse login(UserLoginRequest request) {
         try {
             Optional<UserMasterEntity> userEntity = userRepository.findByEmail(request.getEmail());
@@ -81,6 +85,7 @@ public class UserImplementation implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserMasterResponse getUserDetails(String userCode) {
         try {
             Optional<UserMasterEntity> userEntity = userRepository.findByUserCodeAndStatusAndDeleted(userCode,
@@ -0,0 +1,86 @@
+package com.ajkumarray.margdarshak.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Redirect latency and outcome meters, shared by {@code RedirectController}
+ * and the redirect fast path filter so both publish the same series.
+ *
+ * margdarshak.redirect is tagged with the serving path (mvc or fast);
+ * margdarshak.redirect.outcome with the outcome (hit, not_found, expired) and
+ * where it was decided (cache, filter or db). Short codes are never used as
+ * tags.
+ */
+@Component
+public class RedirectMetrics {
+
+    private static final String LATENCY = "margdarshak.redirect";
+
+    private static final String OUTCOME = "margdarshak.redirect.outcome";
+
+    private final Timer mvcTimer;
+
+    private final Timer fastPathTimer;
+
+    private final Counter cacheHitCounter;
+
+    private final Counter databaseHitCounter;
+
+    private final Counter filteredCounter;
+
+    private final Counter notFoundCounter;
+
+    private final Counter expiredCounter;
+
+    public RedirectMetrics(MeterRegistry meterRegistry) {
+        this.mvcTimer = Timer.builder(LATENCY).tag("path", "mvc").description("Redirect latency")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.fastPathTimer = Timer.builder(LATENCY).tag("path", "fast").description("Redirect latency")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.cacheHitCounter = outcome(meterRegistry, "hit", "cache");
+        this.databaseHitCounter = outcome(meterRegistry, "hit", "db");
+        this.filteredCounter = outcome(meterRegistry, "not_found", "filter");
+        this.notFoundCounter = outcome(meterRegistry, "not_found", "db");
+        this.expiredCounter = outcome(meterRegistry, "expired", "db");
+    }
+
+    public void recordMvc(long startedNanos) {
+        mvcTimer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFastPath(long startedNanos) {
+        fastPathTimer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void cacheHit() {
+        cacheHitCounter.increment();
+    }
+
+    public void databaseHit() {
+        databaseHitCounter.increment();
+    }
+
+    public void filtered() {
+        filteredCounter.increment();
+    }
+
+    public void notFound() {
+        notFoundCounter.increment();
+    }
+
+    public void expired() {
+        expiredCounter.increment();
+    }
+
+    private Counter outcome(MeterRegistry meterRegistry, String outcome, String source) {
+        return Counter.builder(OUTCOME).tag("outcome", outcome).tag("source", source)
+                .description("Redirect lookups by outcome").register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.ajkumarray.margdarshak.models.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Stored outcome of a create request sent with an Idempotency-Key: the hash of
+ * the request it was first used with and the id of the url it produced.
+ */
+@Getter
+@AllArgsConstructor
+public class IdempotencyKeyProjection {
+
+    private final long requestHash;
+
+    private final long urlId;
+
+}
@@ -0,0 +1,31 @@
+package com.ajkumarray.margdarshak.models.projection;
+
+import java.time.LocalDateTime;
+
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Columns needed to serve a redirect: the stored destination in its storage
+ * format, the link expiry and its status, so callers can tell expired links
+ * from missing ones. Built directly by a JPQL constructor expression, so no
+ * entity is hydrated or registered in the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class RedirectTargetProjection {
+
+    private final String url;
+
+    private final byte[] urlCompressed;
+
+    private final UrlFormatEnums urlFormat;
+
+    private final LocalDateTime expiresAt;
+
+    private final UrlStatusEnums status;
+
+}
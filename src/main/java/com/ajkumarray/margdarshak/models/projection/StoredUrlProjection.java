@@ -0,0 +1,29 @@
+package com.ajkumarray.margdarshak.models.projection;
+
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Stored destination columns of one url_master row, as read and written by the
+ * storage format rewrite.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredUrlProjection {
+
+    private final long id;
+
+    private final String url;
+
+    private final byte[] urlCompressed;
+
+    private final UrlFormatEnums urlFormat;
+
+    /** Bytes the destination takes in the row, excluding tuple overhead. */
+    public int storedBytes() {
+        return (url == null ? 0 : url.length()) + (urlCompressed == null ? 0 : urlCompressed.length);
+    }
+
+}
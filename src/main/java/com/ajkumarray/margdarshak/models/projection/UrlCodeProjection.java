@@ -0,0 +1,12 @@
+package com.ajkumarray.margdarshak.models.projection;
+
+/**
+ * Minimal projection of a url row used when scanning all short codes.
+ */
+public interface UrlCodeProjection {
+
+    Long getId();
+
+    String getCode();
+
+}
@@ -0,0 +1,20 @@
+package com.ajkumarray.margdarshak.models.projection;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position in a keyset url listing: the createdAt and id of the last url on
+ * the previous page.
+ */
+@Getter
+@AllArgsConstructor
+public class UrlCursorPosition {
+
+    private final LocalDateTime createdAt;
+
+    private final Long id;
+
+}
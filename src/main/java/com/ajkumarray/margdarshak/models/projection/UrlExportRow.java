@@ -0,0 +1,36 @@
+package com.ajkumarray.margdarshak.models.projection;
+
+import java.time.LocalDateTime;
+
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One exported url. A single instance is refilled for every row of an export
+ * so streaming allocates nothing per row beyond the column values.
+ */
+@Getter
+@Setter
+public class UrlExportRow {
+
+    private String code;
+
+    private String url;
+
+    private byte[] urlCompressed;
+
+    private UrlFormatEnums urlFormat;
+
+    private String status;
+
+    private long clickCount;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime lastAccessedAt;
+
+}
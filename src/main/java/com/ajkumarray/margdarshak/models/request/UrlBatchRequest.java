@@ -0,0 +1,19 @@
+package com.ajkumarray.margdarshak.models.request;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UrlBatchRequest {
+
+    @JsonProperty("urls")
+    @Schema(description = "The URLs to shorten, processed in order")
+    private List<UrlMasterRequest> urls;
+
+}
@@ -0,0 +1,39 @@
+package com.ajkumarray.margdarshak.models.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Setter
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+
+    @JsonProperty("content")
+    @Schema(description = "content: list of records for the current page")
+    private List<T> content;
+
+    @JsonProperty("size")
+    @Schema(description = "size: maximum number of records per page")
+    private int size;
+
+    @JsonProperty("hasNext")
+    @Schema(description = "hasNext: whether another page follows this one")
+    private boolean hasNext;
+
+    @JsonProperty("nextCursor")
+    @Schema(description = "nextCursor: opaque token to pass as cursor for the next page, absent on the last page")
+    private String nextCursor;
+
+    @JsonProperty("totalElements")
+    @Schema(description = "totalElements: total number of records, only present when requested")
+    private Long totalElements;
+
+}
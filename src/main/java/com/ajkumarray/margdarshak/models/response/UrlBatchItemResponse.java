@@ -0,0 +1,35 @@
+package com.ajkumarray.margdarshak.models.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Setter
+public class UrlBatchItemResponse {
+
+    @JsonProperty("index")
+    @Schema(description = "index: position of the item in the request")
+    private int index;
+
+    @JsonProperty("success")
+    @Schema(description = "success: whether the short url was created")
+    private boolean success;
+
+    @JsonProperty("url")
+    @Schema(description = "url: the created short url, when successful")
+    private UrlMasterResponse url;
+
+    @JsonProperty("errorCode")
+    @Schema(description = "errorCode: reason the item failed")
+    private String errorCode;
+
+    @JsonProperty("errorMessage")
+    @Schema(description = "errorMessage: reason the item failed")
+    private String errorMessage;
+
+}
@@ -0,0 +1,33 @@
+package com.ajkumarray.margdarshak.models.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UrlBatchResponse {
+
+    @JsonProperty("requested")
+    @Schema(description = "requested: number of items in the request")
+    private int requested;
+
+    @JsonProperty("created")
+    @Schema(description = "created: number of short urls created")
+    private int created;
+
+    @JsonProperty("failed")
+    @Schema(description = "failed: number of items that were rejected")
+    private int failed;
+
+    @JsonProperty("items")
+    @Schema(description = "items: per-item results in request order")
+    private List<UrlBatchItemResponse> items;
+
+}
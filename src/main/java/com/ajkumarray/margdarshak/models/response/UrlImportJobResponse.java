@@ -0,0 +1,58 @@
+package com.ajkumarray.margdarshak.models.response;
+
+import java.time.LocalDateTime;
+
+import com.ajkumarray.margdarshak.enums.ImportStatusEnums;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Setter
+public class UrlImportJobResponse {
+
+    @JsonProperty("id")
+    @Schema(description = "id: import job id")
+    private Long id;
+
+    @JsonProperty("fileName")
+    @Schema(description = "fileName: name of the uploaded file")
+    private String fileName;
+
+    @JsonProperty("status")
+    @Schema(description = "status: RUNNING, COMPLETED or FAILED")
+    private ImportStatusEnums status;
+
+    @JsonProperty("rowsRead")
+    @Schema(description = "rowsRead: data rows read from the file so far")
+    private long rowsRead;
+
+    @JsonProperty("rowsImported")
+    @Schema(description = "rowsImported: rows written to url_master")
+    private long rowsImported;
+
+    @JsonProperty("rowsRejected")
+    @Schema(description = "rowsRejected: rows that failed validation or whose code already exists")
+    private long rowsRejected;
+
+    @JsonProperty("lastCommittedLine")
+    @Schema(description = "lastCommittedLine: file line up to which the import is committed; a resume continues after it")
+    private long lastCommittedLine;
+
+    @JsonProperty("error")
+    @Schema(description = "error: failure reason of a FAILED job")
+    private String error;
+
+    @JsonProperty("createdAt")
+    @Schema(description = "createdAt: creation date with timestamp")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("updatedAt")
+    @Schema(description = "updatedAt: time of the last progress update")
+    private LocalDateTime updatedAt;
+
+}
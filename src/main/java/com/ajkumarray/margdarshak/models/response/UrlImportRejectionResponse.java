@@ -0,0 +1,27 @@
+package com.ajkumarray.margdarshak.models.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UrlImportRejectionResponse {
+
+    @JsonProperty("lineNumber")
+    @Schema(description = "lineNumber: line of the rejected row in the uploaded file")
+    private long lineNumber;
+
+    @JsonProperty("reason")
+    @Schema(description = "reason: why the row was rejected")
+    private String reason;
+
+    @JsonProperty("rawLine")
+    @Schema(description = "rawLine: the rejected line as uploaded")
+    private String rawLine;
+
+}
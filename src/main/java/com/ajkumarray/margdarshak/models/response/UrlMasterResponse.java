@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -44,6 +45,12 @@ public class UrlMasterResponse {
     @Schema(description = "clickCount: click count of the url")
     private Long clickCount;
 
+    @JsonProperty("uniqueVisitors")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "uniqueVisitors: approximate all-time distinct visitors, within about 2.4% of the true "
+            + "count; only returned by the url detail endpoint, not by listings")
+    private Long uniqueVisitors;
+
     @JsonProperty("status")
     @Schema(description = "status: status of the url")
     private UrlStatusEnums status;
@@ -0,0 +1,25 @@
+package com.ajkumarray.margdarshak.models.response;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UrlStatsBucketResponse {
+
+    @JsonProperty("bucketStart")
+    @Schema(description = "bucketStart: start of the time bucket")
+    private LocalDateTime bucketStart;
+
+    @JsonProperty("clicks")
+    @Schema(description = "clicks: clicks within the bucket")
+    private long clicks;
+
+}
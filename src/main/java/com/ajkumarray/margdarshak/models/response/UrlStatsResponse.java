@@ -0,0 +1,51 @@
+package com.ajkumarray.margdarshak.models.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UrlStatsResponse {
+
+    @JsonProperty("code")
+    @Schema(description = "code: short url code")
+    private String code;
+
+    @JsonProperty("granularity")
+    @Schema(description = "granularity: bucket size, MINUTE, HOUR or DAY")
+    private StatsGranularityEnums granularity;
+
+    @JsonProperty("from")
+    @Schema(description = "from: inclusive start of the range, aligned to the granularity")
+    private LocalDateTime from;
+
+    @JsonProperty("to")
+    @Schema(description = "to: exclusive end of the range")
+    private LocalDateTime to;
+
+    @JsonProperty("totalClicks")
+    @Schema(description = "totalClicks: clicks within the range")
+    private long totalClicks;
+
+    @JsonProperty("uniqueVisitors")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "uniqueVisitors: approximate distinct visitors on the days of the range, within about "
+            + "2.4% of the true count; visitors are only tracked per day, so this is only returned for DAY "
+            + "granularity")
+    private Long uniqueVisitors;
+
+    @JsonProperty("buckets")
+    @Schema(description = "buckets: non-empty buckets in time order; missing buckets had no clicks")
+    private List<UrlStatsBucketResponse> buckets;
+
+}
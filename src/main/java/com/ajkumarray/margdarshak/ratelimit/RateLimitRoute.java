@@ -0,0 +1,30 @@
+package com.ajkumarray.margdarshak.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * Limit applied to one group of endpoints. Callers are identified by the value
+ * of keyHeader when the request carries it, otherwise by client address.
+ */
+@Getter
+public class RateLimitRoute {
+
+    private final String name;
+
+    private final int capacity;
+
+    private final double refillPerSecond;
+
+    private final String keyHeader;
+
+    public RateLimitRoute(String name, int capacity, double refillPerSecond, String keyHeader) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("rate-limit." + name + " needs a positive capacity and refill rate");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.keyHeader = keyHeader;
+    }
+
+}
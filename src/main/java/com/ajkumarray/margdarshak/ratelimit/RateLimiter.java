@@ -0,0 +1,144 @@
+package com.ajkumarray.margdarshak.ratelimit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory token-bucket rate limiter keyed by route and caller.
+ *
+ * Buckets live in lock-striped hash maps, so callers only contend when their
+ * keys hash to the same stripe. A scheduled sweep drops buckets that have
+ * refilled to capacity, since those are indistinguishable from new ones. The
+ * total number of buckets is bounded by rate-limit.max-buckets; when a stripe
+ * is full and nothing in it can be dropped, new callers share one overflow
+ * bucket per route instead of growing the heap.
+ */
+@Component
+public class RateLimiter {
+
+    private final Stripe[] stripes;
+
+    private final int maxBucketsPerStripe;
+
+    /** Overflow bucket per route name; guarded by overflowLock. */
+    private final Map<String, TokenBucket> overflowBuckets = new HashMap<>();
+
+    private final ReentrantLock overflowLock = new ReentrantLock();
+
+    private final Counter evictedCounter;
+
+    private final Counter overflowCounter;
+
+    public RateLimiter(MeterRegistry meterRegistry, @Value("${rate-limit.stripes:64}") int stripeCount,
+            @Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / size);
+
+        Gauge.builder("margdarshak.ratelimit.buckets", this, RateLimiter::size)
+                .description("Rate limit buckets held in memory").register(meterRegistry);
+        this.evictedCounter = Counter.builder("margdarshak.ratelimit.evicted")
+                .description("Idle rate limit buckets dropped").register(meterRegistry);
+        this.overflowCounter = Counter.builder("margdarshak.ratelimit.overflow")
+                .description("Requests charged to the shared overflow bucket because the bucket table was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the caller's bucket for the route.
+     *
+     * @param route limited route
+     * @param key   caller key
+     * @return 0 when the request may proceed, otherwise nanoseconds until the
+     *         caller may retry
+     */
+    public long tryAcquire(RateLimitRoute route, String key) {
+        String bucketKey = route.getName() + '|' + key;
+        Stripe stripe = stripes[spread(bucketKey.hashCode()) & (stripes.length - 1)];
+        long now = System.nanoTime();
+        stripe.lock.lock();
+        try {
+            TokenBucket bucket = stripe.buckets.get(bucketKey);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxBucketsPerStripe && evictFull(stripe, now) == 0) {
+                    return tryAcquireOverflow(route, now);
+                }
+                bucket = new TokenBucket(route, now);
+                stripe.buckets.put(bucketKey, bucket);
+            }
+            return bucket.tryTake(now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:30000}")
+    public void evictIdle() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                evictFull(stripe, System.nanoTime());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private long tryAcquireOverflow(RateLimitRoute route, long now) {
+        overflowCounter.increment();
+        overflowLock.lock();
+        try {
+            return overflowBuckets.computeIfAbsent(route.getName(), name -> new TokenBucket(route, now))
+                    .tryTake(now);
+        } finally {
+            overflowLock.unlock();
+        }
+    }
+
+    private int evictFull(Stripe stripe, long now) {
+        int evicted = 0;
+        Iterator<TokenBucket> iterator = stripe.buckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isFull(now)) {
+                iterator.remove();
+                evicted++;
+            }
+        }
+        evictedCounter.increment(evicted);
+        return evicted;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final HashMap<String, TokenBucket> buckets = new HashMap<>();
+
+    }
+
+}
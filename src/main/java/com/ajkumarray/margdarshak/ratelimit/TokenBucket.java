@@ -0,0 +1,58 @@
+package com.ajkumarray.margdarshak.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled continuously at the route's rate up to its capacity.
+ * Not thread-safe; RateLimiter guards every bucket with its stripe lock, or
+ * the overflow lock for overflow buckets.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitRoute route;
+
+    private double tokens;
+
+    private long refilledAtNanos;
+
+    TokenBucket(RateLimitRoute route, long nowNanos) {
+        this.route = route;
+        this.tokens = route.getCapacity();
+        this.refilledAtNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 when a token was taken, otherwise nanoseconds until one is
+     *         available
+     */
+    long tryTake(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / route.getRefillPerSecond() * NANOS_PER_SECOND);
+    }
+
+    /**
+     * A bucket that has refilled to capacity behaves exactly like a new one, so
+     * dropping it cannot let its caller exceed the limit.
+     */
+    boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= route.getCapacity();
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - refilledAtNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(route.getCapacity(), tokens + elapsed * route.getRefillPerSecond() / NANOS_PER_SECOND);
+            refilledAtNanos = nowNanos;
+        }
+    }
+
+}
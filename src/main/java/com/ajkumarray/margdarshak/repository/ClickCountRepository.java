@@ -0,0 +1,40 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.analytics.ClickDelta;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Batched write-behind updates of click_count and last_accessed_at.
+ */
+@Repository
+@AllArgsConstructor
+public class ClickCountRepository {
+
+    private static final String INCREMENT_CLICKS_SQL = "UPDATE url_master SET click_count = click_count + ?, "
+            + "last_accessed_at = GREATEST(last_accessed_at, ?) WHERE code = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Applies the click deltas in one JDBC batch. Callers pass the deltas sorted
+     * by code so concurrent flushes from several nodes lock rows in the same
+     * order.
+     *
+     * @param deltas click deltas to apply
+     */
+    public void incrementClicks(List<ClickDelta> deltas) {
+        jdbcTemplate.batchUpdate(INCREMENT_CLICKS_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getClicks());
+            ps.setTimestamp(2, new Timestamp(delta.getLastAccessedMillis()));
+            ps.setString(3, delta.getCode());
+        });
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.analytics.ClickEvent;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Batched inserts of raw click events.
+ */
+@Repository
+@AllArgsConstructor
+public class ClickEventRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO click_event (code, clicked_at, referrer, user_agent, "
+            + "ip_address) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<ClickEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getCode());
+            ps.setTimestamp(2, new Timestamp(event.getClickedAtMillis()));
+            ps.setString(3, event.getReferrer());
+            ps.setString(4, event.getUserAgent());
+            ps.setString(5, event.getIpAddress());
+        });
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.analytics.ClickRollupDelta;
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
+import com.ajkumarray.margdarshak.models.response.UrlStatsBucketResponse;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Per-code click counters in minute, hour and day buckets.
+ */
+@Repository
+@AllArgsConstructor
+public class ClickRollupRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO url_click_rollup (code, granularity, bucket_start, clicks) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (code, granularity, bucket_start) "
+            + "DO UPDATE SET clicks = url_click_rollup.clicks + EXCLUDED.clicks";
+
+    private static final String FIND_BUCKETS_SQL = "SELECT bucket_start, clicks FROM url_click_rollup "
+            + "WHERE code = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+
+    private static final String PURGE_SQL = "DELETE FROM url_click_rollup WHERE ctid IN (SELECT ctid "
+            + "FROM url_click_rollup WHERE granularity = ? AND bucket_start < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deltas to their buckets in one JDBC batch. Callers pass the
+     * deltas sorted by bucket key.
+     */
+    public void addClicks(List<ClickRollupDelta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setString(1, delta.getCode());
+            ps.setString(2, delta.getGranularity().name());
+            ps.setTimestamp(3, Timestamp.valueOf(delta.getBucketStart()));
+            ps.setLong(4, delta.getClicks());
+        });
+    }
+
+    /**
+     * Reads the non-empty buckets of a code in [from, to), served by the
+     * primary key index.
+     */
+    public List<UrlStatsBucketResponse> findBuckets(String code, StatsGranularityEnums granularity,
+            LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(FIND_BUCKETS_SQL,
+                (rs, rowNum) -> new UrlStatsBucketResponse(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                code, granularity.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Deletes up to limit buckets of the granularity older than the cut-off.
+     *
+     * @return rows deleted
+     */
+    public int purgeBefore(StatsGranularityEnums granularity, LocalDateTime cutOff, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, granularity.name(), Timestamp.valueOf(cutOff), limit);
+    }
+
+}
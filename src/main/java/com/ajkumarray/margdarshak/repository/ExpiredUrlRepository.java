@@ -0,0 +1,50 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Bounded status transitions of overdue links from ACTIVE to EXPIRED.
+ */
+@Repository
+@AllArgsConstructor
+public class ExpiredUrlRepository {
+
+    private static final String EXPIRE_BATCH_SQL = "UPDATE url_master SET status = 'EXPIRED', updated_at = ? "
+            + "WHERE id IN (SELECT id FROM url_master WHERE status = 'ACTIVE' AND deleted = false "
+            + "AND expires_at <= ? ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING code";
+
+    private static final String OLDEST_OVERDUE_SQL = "SELECT min(expires_at) FROM url_master "
+            + "WHERE status = 'ACTIVE' AND deleted = false AND expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Expires up to limit overdue links. Rows locked by a concurrent sweep on
+     * another node are skipped rather than waited for.
+     *
+     * @param now   expiry cut-off
+     * @param limit maximum rows to update
+     * @return codes of the expired links
+     */
+    public List<String> expireBatch(LocalDateTime now, int limit) {
+        Timestamp cutOff = Timestamp.valueOf(now);
+        return jdbcTemplate.queryForList(EXPIRE_BATCH_SQL, String.class, cutOff, cutOff, limit);
+    }
+
+    /**
+     * @return expiry of the oldest link that is overdue but still ACTIVE, or
+     *         null when there is none
+     */
+    public LocalDateTime findOldestOverdue(LocalDateTime now) {
+        Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_OVERDUE_SQL, Timestamp.class, Timestamp.valueOf(now));
+        return oldest == null ? null : oldest.toLocalDateTime();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.models.projection.IdempotencyKeyProjection;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Idempotency keys of url create requests, scoped to the requesting user.
+ */
+@Repository
+@AllArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private static final String FIND_SQL = "SELECT request_hash, url_id FROM url_idempotency_key "
+            + "WHERE created_by = ? AND idempotency_key = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO url_idempotency_key (created_by, idempotency_key, "
+            + "request_hash, url_id) VALUES (?, ?, ?, ?) ON CONFLICT (created_by, idempotency_key) DO NOTHING";
+
+    private static final String PURGE_SQL = "DELETE FROM url_idempotency_key WHERE ctid IN (SELECT ctid "
+            + "FROM url_idempotency_key WHERE created_at < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<IdempotencyKeyProjection> find(String createdBy, String idempotencyKey) {
+        List<IdempotencyKeyProjection> keys = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new IdempotencyKeyProjection(rs.getLong(1), rs.getLong(2)), createdBy,
+                idempotencyKey);
+        return keys.stream().findFirst();
+    }
+
+    /**
+     * Records the url produced for the key.
+     *
+     * @return false when a concurrent request recorded the key first
+     */
+    public boolean insert(String createdBy, String idempotencyKey, long requestHash, long urlId) {
+        return jdbcTemplate.update(INSERT_SQL, createdBy, idempotencyKey, requestHash, urlId) == 1;
+    }
+
+    /**
+     * Deletes up to limit keys recorded before the cut-off.
+     *
+     * @return number of keys deleted
+     */
+    public int purgeBefore(LocalDateTime cutOff, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutOff), limit);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+import com.ajkumarray.margdarshak.models.projection.RedirectTargetProjection;
+
+/**
+ * Redirect lookup that always reads the primary, for confirming a miss served
+ * by a replica that may not have replayed a recent create or update yet.
+ *
+ * Queries the write pool directly rather than through JPA: with open-in-view
+ * the request's EntityManager keeps the connection of its first transaction,
+ * so a later read-write transaction would still run on the replica. Only
+ * present while read routing is enabled.
+ */
+@Repository
+@ConditionalOnProperty(name = "datasource.read.enabled", havingValue = "true")
+public class PrimaryRedirectTargetRepository {
+
+    private static final String FIND_REDIRECT_TARGET_SQL = "SELECT url, url_compressed, url_format, expires_at, "
+            + "status FROM url_master WHERE code = ? AND deleted = false";
+
+    private static final RowMapper<RedirectTargetProjection> REDIRECT_TARGET_MAPPER = (rs, rowNum) -> {
+        String urlFormat = rs.getString("url_format");
+        return new RedirectTargetProjection(rs.getString("url"), rs.getBytes("url_compressed"),
+                urlFormat == null ? null : UrlFormatEnums.valueOf(urlFormat),
+                rs.getTimestamp("expires_at").toLocalDateTime(), UrlStatusEnums.valueOf(rs.getString("status")));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PrimaryRedirectTargetRepository(@Qualifier("writeDataSource") DataSource writeDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(writeDataSource);
+    }
+
+    public Optional<RedirectTargetProjection> findRedirectTarget(String code) {
+        return jdbcTemplate.query(FIND_REDIRECT_TARGET_SQL, REDIRECT_TARGET_MAPPER, code).stream().findFirst();
+    }
+
+}
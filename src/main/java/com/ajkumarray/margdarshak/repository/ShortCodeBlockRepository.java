@@ -0,0 +1,34 @@
+package com.ajkumarray.margdarshak.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.shortcode.ShortCodeBlockSource;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Leases short code id blocks from the short_code_allocator counter row. The
+ * single-statement UPDATE ... RETURNING makes each lease atomic across nodes.
+ */
+@Repository
+@AllArgsConstructor
+public class ShortCodeBlockRepository implements ShortCodeBlockSource {
+
+    private static final String ALLOCATOR_NAME = "url";
+
+    private static final String LEASE_BLOCK_SQL = "UPDATE short_code_allocator SET next_id = next_id + ? "
+            + "WHERE name = ? RETURNING next_id - ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long leaseBlock(int blockSize) {
+        Long start = jdbcTemplate.queryForObject(LEASE_BLOCK_SQL, Long.class, blockSize, ALLOCATOR_NAME, blockSize);
+        if (start == null) {
+            throw new IllegalStateException("short_code_allocator row '" + ALLOCATOR_NAME + "' is missing");
+        }
+        return start;
+    }
+
+}
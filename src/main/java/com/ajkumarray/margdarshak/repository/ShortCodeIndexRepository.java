@@ -0,0 +1,68 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Catalog checks and concurrent DDL for the unique index on url_master.code.
+ * The CONCURRENTLY statements cannot run inside a transaction block, so
+ * callers must not hold one.
+ */
+@Repository
+@AllArgsConstructor
+public class ShortCodeIndexRepository {
+
+    public static final String INDEX_NAME = "ux_url_master_code";
+
+    private static final String FIND_INDEX_VALID_SQL = "SELECT i.indisvalid FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid "
+            + "WHERE c.relname = '" + INDEX_NAME + "' AND c.relnamespace = current_schema()::regnamespace";
+
+    private static final String BUILD_IN_PROGRESS_SQL = "SELECT count(*) FROM pg_stat_progress_create_index "
+            + "WHERE relid = 'url_master'::regclass";
+
+    private static final String FIND_DUPLICATE_CODES_SQL = "SELECT code FROM url_master "
+            + "GROUP BY code HAVING count(*) > 1 LIMIT ?";
+
+    private static final String DROP_INDEX_SQL = "DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME;
+
+    private static final String CREATE_INDEX_SQL = "CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME
+            + " ON url_master (code)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return whether the index is valid, or empty when it does not exist; an
+     *         invalid index is left behind by a failed concurrent build
+     */
+    public Optional<Boolean> findIndexValid() {
+        return jdbcTemplate.queryForList(FIND_INDEX_VALID_SQL, Boolean.class).stream().findFirst();
+    }
+
+    /**
+     * @return whether some session is currently building an index on
+     *         url_master
+     */
+    public boolean isIndexBuildInProgress() {
+        Long builds = jdbcTemplate.queryForObject(BUILD_IN_PROGRESS_SQL, Long.class);
+        return builds != null && builds > 0;
+    }
+
+    public List<String> findDuplicateCodes(int limit) {
+        return jdbcTemplate.queryForList(FIND_DUPLICATE_CODES_SQL, String.class, limit);
+    }
+
+    public void dropIndex() {
+        jdbcTemplate.execute(DROP_INDEX_SQL);
+    }
+
+    public void createIndex() {
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Bookkeeping for short code blocks reserved by a node's code pool.
+ */
+@Repository
+@AllArgsConstructor
+public class ShortCodeLeaseRepository {
+
+    private static final String INSERT_LEASE_SQL = "INSERT INTO short_code_lease (block_start, block_end, node_id) "
+            + "VALUES (?, ?, ?)";
+
+    private static final String HEARTBEAT_SQL = "UPDATE short_code_lease SET heartbeat_at = now() "
+            + "WHERE node_id = ? AND completed = false";
+
+    private static final String COMPLETE_SQL = "UPDATE short_code_lease SET completed = true WHERE block_start = ?";
+
+    private static final String RELEASE_SQL = "UPDATE short_code_lease SET heartbeat_at = TIMESTAMP '1970-01-01' "
+            + "WHERE node_id = ? AND completed = false";
+
+    private static final String CLAIM_ABANDONED_SQL = "UPDATE short_code_lease SET node_id = ?, heartbeat_at = now() "
+            + "WHERE block_start = (SELECT block_start FROM short_code_lease WHERE completed = false "
+            + "AND heartbeat_at < ? ORDER BY block_start LIMIT 1 FOR UPDATE SKIP LOCKED) "
+            + "RETURNING block_start, block_end";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertLease(long blockStart, long blockEnd, String nodeId) {
+        jdbcTemplate.update(INSERT_LEASE_SQL, blockStart, blockEnd, nodeId);
+    }
+
+    public void heartbeat(String nodeId) {
+        jdbcTemplate.update(HEARTBEAT_SQL, nodeId);
+    }
+
+    public void markCompleted(List<Long> blockStarts) {
+        jdbcTemplate.batchUpdate(COMPLETE_SQL, blockStarts, blockStarts.size(),
+                (ps, blockStart) -> ps.setLong(1, blockStart));
+    }
+
+    /**
+     * Makes every open lease of the node immediately reclaimable, used on
+     * shutdown for the codes still sitting in the pool.
+     *
+     * @param nodeId node releasing its leases
+     */
+    public void releaseAll(String nodeId) {
+        jdbcTemplate.update(RELEASE_SQL, nodeId);
+    }
+
+    /**
+     * Takes over one incomplete lease whose heartbeat is older than the given
+     * time.
+     *
+     * @param nodeId      node claiming the lease
+     * @param staleBefore heartbeat cut-off
+     * @return {blockStart, blockEnd} of the claimed lease, if any
+     */
+    public Optional<long[]> claimAbandoned(String nodeId, LocalDateTime staleBefore) {
+        List<long[]> claimed = jdbcTemplate.query(CLAIM_ABANDONED_SQL,
+                (rs, rowNum) -> new long[] { rs.getLong("block_start"), rs.getLong("block_end") }, nodeId,
+                Timestamp.valueOf(staleBefore));
+        return claimed.stream().findFirst();
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.analytics.HyperLogLog;
+import com.ajkumarray.margdarshak.analytics.VisitorSketchKey;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * HyperLogLog unique-visitor sketches per code, all-time and per day.
+ *
+ * Sketches are merged in the application, so a flush reads and rewrites them
+ * inside one transaction: missing rows are first created empty, then every
+ * row is locked in key order before the merged sketches are written back.
+ */
+@Repository
+@AllArgsConstructor
+public class UniqueVisitorRepository {
+
+    private static final String CREATE_TOTALS_SQL = "INSERT INTO url_visitor_sketch (code, sketch, visitors) "
+            + "SELECT unnest(?::varchar[]), ''::bytea, 0 ON CONFLICT (code) DO NOTHING";
+
+    private static final String LOCK_TOTALS_SQL = "SELECT code, sketch FROM url_visitor_sketch "
+            + "WHERE code = ANY(?::varchar[]) ORDER BY code FOR UPDATE";
+
+    private static final String UPDATE_TOTAL_SQL = "UPDATE url_visitor_sketch SET sketch = ?, visitors = ? "
+            + "WHERE code = ?";
+
+    private static final String CREATE_DAILY_SQL = "INSERT INTO url_visitor_sketch_daily (code, day, sketch) "
+            + "SELECT k.code, k.day, ''::bytea FROM unnest(?::varchar[], ?::date[]) AS k(code, day) "
+            + "ON CONFLICT (code, day) DO NOTHING";
+
+    private static final String LOCK_DAILY_SQL = "SELECT s.code, s.day, s.sketch FROM url_visitor_sketch_daily s "
+            + "JOIN unnest(?::varchar[], ?::date[]) AS k(code, day) ON s.code = k.code AND s.day = k.day "
+            + "ORDER BY s.code, s.day FOR UPDATE OF s";
+
+    private static final String UPDATE_DAILY_SQL = "UPDATE url_visitor_sketch_daily SET sketch = ? "
+            + "WHERE code = ? AND day = ?";
+
+    private static final String FIND_VISITORS_SQL = "SELECT visitors FROM url_visitor_sketch WHERE code = ?";
+
+    private static final String FIND_DAILY_SQL = "SELECT sketch FROM url_visitor_sketch_daily "
+            + "WHERE code = ? AND day >= ? AND day <= ?";
+
+    private static final String PURGE_DAILY_SQL = "DELETE FROM url_visitor_sketch_daily WHERE ctid IN (SELECT ctid "
+            + "FROM url_visitor_sketch_daily WHERE day < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the all-time sketches of the codes, creating empty ones where
+     * missing. Must run inside a transaction; callers pass the codes sorted.
+     *
+     * @return stored sketch bytes by code
+     */
+    public Map<String, byte[]> lockTotals(List<String> codes) {
+        String[] codeArray = codes.toArray(String[]::new);
+        jdbcTemplate.update(CREATE_TOTALS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", codeArray)));
+        Map<String, byte[]> sketches = new HashMap<>();
+        jdbcTemplate.query(LOCK_TOTALS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", codeArray)),
+                (RowCallbackHandler) rs -> sketches.put(rs.getString(1), rs.getBytes(2)));
+        return sketches;
+    }
+
+    /**
+     * Writes merged all-time sketches together with their current estimate.
+     */
+    public void updateTotals(Map<String, HyperLogLog> sketches) {
+        List<Map.Entry<String, HyperLogLog>> rows = new ArrayList<>(sketches.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_TOTAL_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setBytes(1, row.getValue().toBytes());
+            ps.setLong(2, row.getValue().estimate());
+            ps.setString(3, row.getKey());
+        });
+    }
+
+    /**
+     * Locks the daily sketches of the keys, creating empty ones where missing.
+     * Must run inside a transaction; callers pass the keys sorted.
+     *
+     * @return stored sketch bytes by key
+     */
+    public Map<VisitorSketchKey, byte[]> lockDaily(List<VisitorSketchKey> keys) {
+        String[] codeArray = keys.stream().map(VisitorSketchKey::getCode).toArray(String[]::new);
+        Date[] dayArray = keys.stream().map(key -> Date.valueOf(key.getDay())).toArray(Date[]::new);
+        jdbcTemplate.update(CREATE_DAILY_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", codeArray));
+            ps.setArray(2, ps.getConnection().createArrayOf("date", dayArray));
+        });
+        Map<VisitorSketchKey, byte[]> sketches = new HashMap<>();
+        jdbcTemplate.query(LOCK_DAILY_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", codeArray));
+            ps.setArray(2, ps.getConnection().createArrayOf("date", dayArray));
+        }, (RowCallbackHandler) rs -> sketches.put(
+                new VisitorSketchKey(rs.getString(1), rs.getDate(2).toLocalDate()), rs.getBytes(3)));
+        return sketches;
+    }
+
+    public void updateDaily(Map<VisitorSketchKey, HyperLogLog> sketches) {
+        List<Map.Entry<VisitorSketchKey, HyperLogLog>> rows = new ArrayList<>(sketches.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_DAILY_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setBytes(1, row.getValue().toBytes());
+            ps.setString(2, row.getKey().getCode());
+            ps.setDate(3, Date.valueOf(row.getKey().getDay()));
+        });
+    }
+
+    /**
+     * @return estimated all-time unique visitors of the code, null when none
+     *         were recorded
+     */
+    public Long findVisitors(String code) {
+        List<Long> visitors = jdbcTemplate.queryForList(FIND_VISITORS_SQL, Long.class, code);
+        return visitors.isEmpty() ? null : visitors.get(0);
+    }
+
+    /**
+     * Reads the daily sketches of a code for the days in [from, to].
+     */
+    public List<byte[]> findDaily(String code, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(FIND_DAILY_SQL, (rs, rowNum) -> rs.getBytes(1), code, Date.valueOf(from),
+                Date.valueOf(to));
+    }
+
+    /**
+     * Deletes up to limit daily sketches older than the cut-off day.
+     *
+     * @return rows deleted
+     */
+    public int purgeDailyBefore(LocalDate cutOff, int limit) {
+        return jdbcTemplate.update(PURGE_DAILY_SQL, Date.valueOf(cutOff), limit);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.entity.UrlMasterEntity;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Multi-row inserts into url_master for bulk url creation.
+ *
+ * The id column is an IDENTITY column, which rules out Hibernate insert
+ * batching. A single INSERT with many VALUES rows lets the database assign ids
+ * for the whole chunk in one round trip; RETURNING reports the rows actually
+ * written so code collisions can be retried by the caller.
+ *
+ * Rows whose code exists are skipped by NOT EXISTS, and ON CONFLICT without a
+ * target skips rows that collide with a concurrent insert. Neither depends on
+ * the unique code index, which may still be building (see
+ * ShortCodeIndexMigration); without it only concurrent inserts of the same
+ * code can slip through.
+ */
+@Repository
+@AllArgsConstructor
+public class UrlBatchRepository {
+
+    private static final String COLUMN_LIST = "code, url, url_compressed, url_format, expires_at, click_count, "
+            + "status, last_accessed_at, created_by, created_at, updated_at, deleted_at, deleted, url_hash";
+
+    private static final String INSERT_PREFIX = "INSERT INTO url_master (" + COLUMN_LIST + ") SELECT " + COLUMN_LIST
+            + " FROM (VALUES ";
+
+    /** Timestamps are bound untyped, so the VALUES list casts them to give the column its type. */
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, CAST(? AS TIMESTAMP), ?, ?, CAST(? AS TIMESTAMP), "
+            + "?, CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), ?, ?)";
+
+    private static final String INSERT_SUFFIX = ") AS v (" + COLUMN_LIST + ") WHERE NOT EXISTS "
+            + "(SELECT 1 FROM url_master m WHERE m.code = v.code) ON CONFLICT DO NOTHING RETURNING id, code";
+
+    private static final int COLUMNS = 14;
+
+    /** Keeps each statement well below the 32767 bind parameter limit of the wire protocol. */
+    public static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the urls in a single statement, skipping rows whose code already
+     * exists.
+     *
+     * @param urls at most {@link #MAX_ROWS_PER_STATEMENT} urls to insert
+     * @return generated id by code for the rows that were inserted
+     */
+    public Map<String, Long> insertIgnoringConflicts(List<UrlMasterEntity> urls) {
+        if (urls.size() > MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS_PER_STATEMENT + " rows per statement");
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + INSERT_SUFFIX.length()
+                + urls.size() * (ROW_PLACEHOLDERS.length() + 1));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < urls.size(); i++) {
+            sql.append(i == 0 ? "" : ",").append(ROW_PLACEHOLDERS);
+        }
+        sql.append(INSERT_SUFFIX);
+
+        Map<String, Long> inserted = new HashMap<>(urls.size() * 2);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString());
+            int index = 1;
+            for (UrlMasterEntity url : urls) {
+                bind(ps, index, url);
+                index += COLUMNS;
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> inserted.put(rs.getString("code"), rs.getLong("id")));
+        return inserted;
+    }
+
+    private void bind(PreparedStatement ps, int index, UrlMasterEntity url) throws SQLException {
+        ps.setString(index, url.getCode());
+        ps.setString(index + 1, url.getUrl());
+        ps.setBytes(index + 2, url.getUrlCompressed());
+        ps.setString(index + 3, url.getUrlFormat().name());
+        ps.setTimestamp(index + 4, Timestamp.valueOf(url.getExpiresAt()));
+        ps.setLong(index + 5, url.getClickCount());
+        ps.setString(index + 6, url.getStatus().name());
+        ps.setNull(index + 7, Types.TIMESTAMP);
+        ps.setString(index + 8, url.getCreatedBy());
+        ps.setTimestamp(index + 9, Timestamp.valueOf(url.getCreatedAt()));
+        ps.setTimestamp(index + 10, Timestamp.valueOf(url.getUpdatedAt()));
+        ps.setNull(index + 11, Types.TIMESTAMP);
+        ps.setBoolean(index + 12, url.isDeleted());
+        if (url.getUrlHash() == null) {
+            ps.setNull(index + 13, Types.BIGINT);
+        } else {
+            ps.setLong(index + 13, url.getUrlHash());
+        }
+    }
+
+}
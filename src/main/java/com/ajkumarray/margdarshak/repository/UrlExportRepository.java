@@ -0,0 +1,67 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+import com.ajkumarray.margdarshak.models.projection.UrlExportRow;
+
+/**
+ * Forward-only read of a user's urls for exports.
+ *
+ * The PostgreSQL driver only fetches through a server-side cursor when a fetch
+ * size is set and autocommit is off, so callers must invoke
+ * {@link #streamOwnedUrls} inside a transaction. Rows are then pulled from the
+ * server fetchSize at a time and memory stays constant whatever the row count.
+ */
+@Repository
+public class UrlExportRepository {
+
+    private static final String EXPORT_SQL = "SELECT code, url, url_compressed, url_format, status, click_count, "
+            + "created_at, expires_at, last_accessed_at FROM url_master WHERE created_by = ? AND deleted = false "
+            + "ORDER BY created_at DESC, id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UrlExportRepository(DataSource dataSource, @Value("${url.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams every non-deleted url of the user to the consumer. The same row
+     * instance is reused, so consumers must not keep a reference to it. An
+     * exception thrown by the consumer aborts the query.
+     *
+     * @param createdBy user code
+     * @param consumer  row consumer
+     */
+    public void streamOwnedUrls(String createdBy, Consumer<UrlExportRow> consumer) {
+        UrlExportRow row = new UrlExportRow();
+        jdbcTemplate.query(EXPORT_SQL, rs -> {
+            row.setCode(rs.getString(1));
+            row.setUrl(rs.getString(2));
+            row.setUrlCompressed(rs.getBytes(3));
+            String urlFormat = rs.getString(4);
+            row.setUrlFormat(urlFormat == null ? null : UrlFormatEnums.valueOf(urlFormat));
+            row.setStatus(rs.getString(5));
+            row.setClickCount(rs.getLong(6));
+            row.setCreatedAt(toLocalDateTime(rs.getTimestamp(7)));
+            row.setExpiresAt(toLocalDateTime(rs.getTimestamp(8)));
+            row.setLastAccessedAt(toLocalDateTime(rs.getTimestamp(9)));
+            consumer.accept(row);
+        }, createdBy);
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+}
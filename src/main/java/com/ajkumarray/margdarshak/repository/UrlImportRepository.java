@@ -0,0 +1,191 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.enums.ImportStatusEnums;
+import com.ajkumarray.margdarshak.models.response.UrlImportJobResponse;
+import com.ajkumarray.margdarshak.models.response.UrlImportRejectionResponse;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Job bookkeeping, COPY staging and the set-based merge for CSV imports.
+ *
+ * The staging, rejection and merge methods must run in the same transaction
+ * for a chunk so that a failure leaves neither staged rows nor partial
+ * progress behind.
+ */
+@Repository
+@AllArgsConstructor
+public class UrlImportRepository {
+
+    private static final String INSERT_JOB_SQL = "INSERT INTO url_import_job (created_by, file_name, status) "
+            + "VALUES (?, ?, ?)";
+
+    private static final String FIND_JOB_SQL = "SELECT * FROM url_import_job WHERE id = ? AND created_by = ?";
+
+    private static final String PROGRESS_SQL = "UPDATE url_import_job SET last_committed_line = ?, "
+            + "rows_read = rows_read + ?, rows_imported = rows_imported + ?, rows_rejected = rows_rejected + ?, "
+            + "updated_at = now() WHERE id = ?";
+
+    private static final String STATUS_SQL = "UPDATE url_import_job SET status = ?, error = ?, updated_at = now() "
+            + "WHERE id = ?";
+
+    private static final String CLAIM_SQL = "UPDATE url_import_job SET status = 'RUNNING', error = NULL, "
+            + "updated_at = now() WHERE id = ? AND created_by = ? "
+            + "AND (status = 'FAILED' OR (status = 'RUNNING' AND updated_at < ?))";
+
+    private static final String COPY_SQL = "COPY url_import_staging (job_id, line_no, code, url, expires_at, status, "
+            + "raw_line) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_REJECTION_SQL = "INSERT INTO url_import_rejection "
+            + "(job_id, line_no, reason, raw_line) VALUES (?, ?, ?, ?) ON CONFLICT (job_id, line_no) DO NOTHING";
+
+    /**
+     * Inserts the first staged row of every code, skipping codes that already
+     * exist, and records every other staged row as a duplicate. Returns the
+     * inserted codes. Existing codes are skipped by NOT EXISTS rather than an
+     * ON CONFLICT (code) arbiter, so the merge works before the unique code
+     * index is built (see ShortCodeIndexMigration).
+     */
+    private static final String MERGE_SQL = "WITH candidates AS ("
+            + " SELECT DISTINCT ON (code) line_no, code, url, expires_at, status FROM url_import_staging"
+            + " WHERE job_id = ? ORDER BY code, line_no),"
+            + " inserted AS ("
+            + " INSERT INTO url_master (code, url, url_format, expires_at, click_count, status, last_accessed_at,"
+            + " created_by, created_at, updated_at, deleted_at, deleted)"
+            + " SELECT c.code, c.url, 'RAW', c.expires_at, 0, c.status, NULL, ?, now(), now(), NULL, false"
+            + " FROM candidates c WHERE NOT EXISTS (SELECT 1 FROM url_master m WHERE m.code = c.code)"
+            + " ON CONFLICT DO NOTHING RETURNING code),"
+            + " duplicates AS ("
+            + " INSERT INTO url_import_rejection (job_id, line_no, reason, raw_line)"
+            + " SELECT s.job_id, s.line_no, 'DUPLICATE_CODE', s.raw_line FROM url_import_staging s"
+            + " WHERE s.job_id = ? AND NOT EXISTS (SELECT 1 FROM candidates c JOIN inserted i ON i.code = c.code"
+            + " WHERE c.line_no = s.line_no)"
+            + " ON CONFLICT (job_id, line_no) DO NOTHING)"
+            + " SELECT code FROM inserted";
+
+    private static final String CLEAR_STAGING_SQL = "DELETE FROM url_import_staging WHERE job_id = ?";
+
+    private static final String FIND_REJECTIONS_SQL = "SELECT line_no, reason, raw_line FROM url_import_rejection "
+            + "WHERE job_id = ? AND line_no > ? ORDER BY line_no LIMIT ?";
+
+    private static final RowMapper<UrlImportJobResponse> JOB_MAPPER = (rs, rowNum) -> {
+        UrlImportJobResponse job = new UrlImportJobResponse();
+        job.setId(rs.getLong("id"));
+        job.setFileName(rs.getString("file_name"));
+        job.setStatus(ImportStatusEnums.valueOf(rs.getString("status")));
+        job.setRowsRead(rs.getLong("rows_read"));
+        job.setRowsImported(rs.getLong("rows_imported"));
+        job.setRowsRejected(rs.getLong("rows_rejected"));
+        job.setLastCommittedLine(rs.getLong("last_committed_line"));
+        job.setError(rs.getString("error"));
+        job.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        job.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return job;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataSource dataSource;
+
+    public long createJob(String createdBy, String fileName) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_JOB_SQL, new String[] { "id" });
+            ps.setString(1, createdBy);
+            ps.setString(2, fileName);
+            ps.setString(3, ImportStatusEnums.RUNNING.name());
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    public Optional<UrlImportJobResponse> findJob(long jobId, String createdBy) {
+        return jdbcTemplate.query(FIND_JOB_SQL, JOB_MAPPER, jobId, createdBy).stream().findFirst();
+    }
+
+    /**
+     * Moves a failed job, or a running job whose progress stopped before
+     * staleBefore, back to RUNNING.
+     *
+     * @return true when this caller now owns the job
+     */
+    public boolean claimForResume(long jobId, String createdBy, LocalDateTime staleBefore) {
+        return jdbcTemplate.update(CLAIM_SQL, jobId, createdBy, Timestamp.valueOf(staleBefore)) == 1;
+    }
+
+    public void recordProgress(long jobId, long lastCommittedLine, long rowsRead, long rowsImported,
+            long rowsRejected) {
+        jdbcTemplate.update(PROGRESS_SQL, lastCommittedLine, rowsRead, rowsImported, rowsRejected, jobId);
+    }
+
+    public void updateStatus(long jobId, ImportStatusEnums status, String error) {
+        jdbcTemplate.update(STATUS_SQL, status.name(), error, jobId);
+    }
+
+    /**
+     * Loads CSV rows (job_id, line_no, code, url, expires_at, status, raw_line)
+     * into the staging table with COPY on the current transaction's connection.
+     *
+     * @return number of rows copied
+     */
+    public long copyIntoStaging(Reader csvRows) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, csvRows);
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("COPY into url_import_staging failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    public void insertRejections(long jobId, List<UrlImportRejectionResponse> rejections) {
+        jdbcTemplate.batchUpdate(INSERT_REJECTION_SQL, rejections, rejections.size(), (ps, rejection) -> {
+            ps.setLong(1, jobId);
+            ps.setLong(2, rejection.getLineNumber());
+            ps.setString(3, rejection.getReason());
+            ps.setString(4, rejection.getRawLine());
+        });
+    }
+
+    /**
+     * Merges the staged rows of a job into url_master and clears them.
+     *
+     * @return codes that were inserted
+     */
+    public List<String> mergeStaging(long jobId, String createdBy) {
+        List<String> inserted = jdbcTemplate.queryForList(MERGE_SQL, String.class, jobId, createdBy, jobId);
+        jdbcTemplate.update(CLEAR_STAGING_SQL, jobId);
+        return inserted;
+    }
+
+    public List<UrlImportRejectionResponse> findRejections(long jobId, long afterLine, int limit) {
+        return jdbcTemplate.query(FIND_REJECTIONS_SQL, (rs, rowNum) -> new UrlImportRejectionResponse(
+                rs.getLong("line_no"), rs.getString("reason"), rs.getString("raw_line")), jobId, afterLine, limit);
+    }
+
+}
@@ -1,14 +1,25 @@
 package com.ajkumarray.margdarshak.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 import com.ajkumarray.margdarshak.entity.UrlMasterEntity;
 import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
+import com.ajkumarray.margdarshak.models.projection.RedirectTargetProjection;
+import com.ajkumarray.margdarshak.models.projection.UrlCodeProjection;
 
 @Repository
 public interface UrlRepository extends JpaRepository<UrlMasterEntity, Long> {
@@ -20,4 +31,56 @@ public interface UrlRepository extends JpaRepository<UrlMasterEntity, Long> {
     Optional<UrlMasterEntity> findByCodeAndStatusAndExpiresAtAfterAndDeleted(String code, UrlStatusEnums status,
             LocalDateTime expiresAt, boolean deleted);
 
+    /**
+     * Read-only redirect lookup returning only the destination, expiry and
+     * status. Status and expiry are checked by the caller, which reports
+     * expired links separately from missing ones.
+     */
+    @Transactional(readOnly = true)
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    @Query("SELECT new com.ajkumarray.margdarshak.models.projection.RedirectTargetProjection(u.url, "
+            + "u.urlCompressed, u.urlFormat, u.expiresAt, u.status) FROM UrlMasterEntity u "
+            + "WHERE u.code = :code AND u.deleted = false")
+    Optional<RedirectTargetProjection> findRedirectTarget(@Param("code") String code);
+
+    boolean existsByCode(String code);
+
+    long countByCreatedByAndStatusAndDeleted(String createdBy, UrlStatusEnums status, boolean deleted);
+
+    /**
+     * First page of a keyset listing, newest first. Callers request one row
+     * more than the page size to learn whether another page follows.
+     */
+    @Query(value = "SELECT * FROM url_master WHERE created_by = :createdBy AND status = :status AND deleted = false "
+            + "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UrlMasterEntity> findOwnedFirstPage(@Param("createdBy") String createdBy, @Param("status") String status,
+            @Param("limit") int limit);
+
+    /**
+     * Page of a keyset listing following the row (createdAt, id). The row value
+     * comparison lets the owner listing index seek straight to the position.
+     */
+    @Query(value = "SELECT * FROM url_master WHERE created_by = :createdBy AND status = :status AND deleted = false "
+            + "AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<UrlMasterEntity> findOwnedPageAfter(@Param("createdBy") String createdBy, @Param("status") String status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * Live links of an owner whose destination hashes to urlHash, served by the
+     * owner hash index. Callers compare the destinations to rule out hash
+     * collisions.
+     */
+    @Query(value = "SELECT * FROM url_master WHERE created_by = :createdBy AND url_hash = :urlHash "
+            + "AND status = 'ACTIVE' AND deleted = false AND expires_at > :now", nativeQuery = true)
+    List<UrlMasterEntity> findLiveByOwnerAndUrlHash(@Param("createdBy") String createdBy,
+            @Param("urlHash") long urlHash, @Param("now") LocalDateTime now);
+
+    @Query("SELECT u.id AS id, u.code AS code FROM UrlMasterEntity u WHERE u.id > :afterId ORDER BY u.id")
+    List<UrlCodeProjection> findCodesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT u.code FROM UrlMasterEntity u WHERE u.code IN :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
 }
\ No newline at end of file
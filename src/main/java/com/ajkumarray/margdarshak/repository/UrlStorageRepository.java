@@ -0,0 +1,152 @@
+package com.ajkumarray.margdarshak.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+import com.ajkumarray.margdarshak.models.projection.StoredUrlProjection;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Schema checks, batched rewrites and size sampling for the url_master storage
+ * format migration.
+ */
+@Repository
+@AllArgsConstructor
+public class UrlStorageRepository {
+
+    private static final String FIND_COLUMNS_SQL = "SELECT column_name, data_type, is_nullable "
+            + "FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = 'url_master'";
+
+    private static final String MAX_ID_SQL = "SELECT max(id) FROM url_master";
+
+    /**
+     * Rows in (afterId, upToId] still in the legacy format, or raw and long
+     * enough to be worth compressing when minCompressLength is positive.
+     */
+    private static final String FIND_CANDIDATES_SQL = "SELECT id, url, url_compressed, url_format FROM url_master "
+            + "WHERE id > ? AND id <= ? AND (url_format IS NULL OR url_format = 'ENCODED' "
+            + "OR (? > 0 AND url_format = 'RAW' AND length(url) >= ?)) ORDER BY id";
+
+    /** Only rewrites rows that were not changed since they were read. */
+    private static final String REWRITE_SQL = "UPDATE url_master SET url = ?, url_compressed = ?, url_format = ? "
+            + "WHERE id = ? AND url IS NOT DISTINCT FROM ? AND url_format IS NOT DISTINCT FROM ?";
+
+    private static final String REWRITE_CLEARING_SHORT_URL_SQL = "UPDATE url_master SET url = ?, "
+            + "url_compressed = ?, url_format = ?, short_url = NULL "
+            + "WHERE id = ? AND url IS NOT DISTINCT FROM ? AND url_format IS NOT DISTINCT FROM ?";
+
+    private static final String TABLE_SIZE_SQL = "SELECT pg_total_relation_size('url_master'), "
+            + "pg_relation_size('url_master')";
+
+    private static final String SAMPLE_SQL = "SELECT coalesce(url_format, 'ENCODED'), count(*), "
+            + "avg(coalesce(octet_length(url), 0) + coalesce(octet_length(url_compressed), 0)%s) "
+            + "FROM url_master TABLESAMPLE SYSTEM (CAST(? AS REAL)) GROUP BY 1 ORDER BY 1";
+
+    private static final RowMapper<StoredUrlProjection> STORED_URL_MAPPER = (rs, rowNum) -> {
+        String urlFormat = rs.getString(4);
+        return new StoredUrlProjection(rs.getLong(1), rs.getString(2), rs.getBytes(3),
+                urlFormat == null ? null : UrlFormatEnums.valueOf(urlFormat));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return data type and nullability ("YES"/"NO") by column name
+     */
+    public Map<String, String[]> findColumns() {
+        Map<String, String[]> columns = new HashMap<>();
+        jdbcTemplate.query(FIND_COLUMNS_SQL, rs -> {
+            columns.put(rs.getString(1), new String[] { rs.getString(2), rs.getString(3) });
+        });
+        return columns;
+    }
+
+    /**
+     * Runs a DDL statement in the current transaction, giving up when its lock
+     * cannot be taken within lockTimeoutMillis instead of queueing every
+     * redirect behind it.
+     */
+    public void alterWithLockTimeout(String ddl, long lockTimeoutMillis) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMillis);
+        jdbcTemplate.execute(ddl);
+    }
+
+    public long findMaxId() {
+        Long maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    public List<StoredUrlProjection> findRewriteCandidates(long afterId, long upToId, int minCompressLength) {
+        return jdbcTemplate.query(FIND_CANDIDATES_SQL, STORED_URL_MAPPER, afterId, upToId, minCompressLength,
+                minCompressLength);
+    }
+
+    /**
+     * Writes the new storage form of each row in one JDBC batch; after.get(i)
+     * replaces before.get(i).
+     *
+     * @return number of rows rewritten; rows changed concurrently are skipped
+     */
+    public int rewrite(List<StoredUrlProjection> before, List<StoredUrlProjection> after, boolean clearShortUrl) {
+        int[] counts = jdbcTemplate.batchUpdate(clearShortUrl ? REWRITE_CLEARING_SHORT_URL_SQL : REWRITE_SQL,
+                new BatchPreparedStatementSetter() {
+
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        StoredUrlProjection old = before.get(i);
+                        StoredUrlProjection row = after.get(i);
+                        ps.setString(1, row.getUrl());
+                        ps.setBytes(2, row.getUrlCompressed());
+                        ps.setString(3, row.getUrlFormat().name());
+                        ps.setLong(4, row.getId());
+                        ps.setString(5, old.getUrl());
+                        ps.setString(6, old.getUrlFormat() == null ? null : old.getUrlFormat().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return after.size();
+                    }
+                });
+        int rewritten = 0;
+        for (int count : counts) {
+            rewritten += Math.max(count, 0);
+        }
+        return rewritten;
+    }
+
+    /**
+     * @return total size of url_master with its indexes and TOAST, and the size
+     *         of its heap alone, in bytes
+     */
+    public long[] findTableSize() {
+        return jdbcTemplate.queryForObject(TABLE_SIZE_SQL, (rs, rowNum) -> new long[] { rs.getLong(1),
+                rs.getLong(2) });
+    }
+
+    /**
+     * Samples samplePercent of the table's pages and reports, per storage
+     * format, the sampled row count and the average bytes its destination
+     * columns take. short_url is counted while the legacy column exists.
+     */
+    public Map<String, Object[]> sampleFormats(double samplePercent, boolean hasShortUrl) {
+        String sql = String.format(SAMPLE_SQL, hasShortUrl ? " + coalesce(octet_length(short_url), 0)" : "");
+        Map<String, Object[]> formats = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            formats.put(rs.getString(1), new Object[] { rs.getLong(2), rs.getDouble(3) });
+        }, samplePercent);
+        return formats;
+    }
+
+}
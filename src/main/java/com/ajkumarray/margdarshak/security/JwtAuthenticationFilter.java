@@ -2,8 +2,13 @@ package com.ajkumarray.margdarshak.security;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,10 +22,19 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String ADMIN_ROLE = "ADMIN";
+
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List
+            .of(new SimpleGrantedAuthority("ROLE_" + ADMIN_ROLE));
+
     private final JwtTokenProvider jwtTokenProvider;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    private final Set<String> adminUserCodes;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+            @Value("${security.admin-user-codes:}") Set<String> adminUserCodes) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.adminUserCodes = adminUserCodes;
     }
 
     @Override
@@ -29,13 +43,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = request.getHeader("Authorization");
 
-        if (token != null && token.startsWith("Bearer ") && jwtTokenProvider.validateToken(token)) {
-            String userCode = jwtTokenProvider.getUserCodeFromToken(token);
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userCode, null,
-                    Collections.emptyList());
-
-            auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        if (token != null && token.startsWith("Bearer ")) {
+            VerifiedToken verified = jwtTokenProvider.verifyToken(token);
+            if (verified != null) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        verified.getUserCode(), null,
+                        adminUserCodes.contains(verified.getUserCode()) ? ADMIN_AUTHORITIES
+                                : Collections.emptyList());
+
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
         }
 
         filterChain.doFilter(request, response);
@@ -1,41 +1,145 @@
 package com.ajkumarray.margdarshak.security;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import io.jsonwebtoken.Jwts;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.cache.max-entries:50000}")
+    private long cacheMaxEntries;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private byte[] signingKey;
+
+    private JwtParser parser;
+
+    /**
+     * Verified tokens keyed by the SHA-256 digest of the compact token, each
+     * entry living no longer than the token itself.
+     */
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    private Timer verifyTimer;
+
+    @PostConstruct
+    public void init() {
+        signingKey = secretKey.getBytes();
+        parser = Jwts.parser().setSigningKey(signingKey);
+        verifiedTokens = Caffeine.newBuilder().maximumSize(cacheMaxEntries).recordStats()
+                .expireAfter(new TokenExpiry()).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt");
+        verifyTimer = Timer.builder("margdarshak.jwt.verify")
+                .description("Time to parse and verify a JWT signature on a cache miss").register(meterRegistry);
+    }
+
     public String generateToken(String userCode) {
         Date now = new Date();
         Date expiryDate = new Date(System.currentTimeMillis() + expiration * 1000);
 
         return Jwts.builder().setSubject(userCode).setIssuedAt(now).setExpiration(expiryDate)
-                .signWith(SignatureAlgorithm.HS256, secretKey.getBytes()).compact();
+                .signWith(SignatureAlgorithm.HS256, signingKey).compact();
+    }
+
+    /**
+     * Parses and verifies a token in a single step. Tokens verified before are
+     * answered from the cache until they expire.
+     *
+     * @param token compact JWT, with or without the "Bearer " prefix
+     * @return the verified token, or null if the token is invalid or expired
+     */
+    @Timed(value = "margdarshak.jwt.validate", description = "JWT validation, including cache hits")
+    public VerifiedToken verifyToken(String token) {
+        String compact = token.startsWith(BEARER_PREFIX) ? token.substring(BEARER_PREFIX.length()) : token;
+        ByteBuffer digest = digest(compact);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.getExpiresAtMillis() > System.currentTimeMillis() ? cached : null;
+        }
+
+        long started = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(compact).getBody();
+            Date expiresAt = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                    expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime());
+            verifiedTokens.put(digest, verified);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        } finally {
+            verifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
     }
 
     public String getUserCodeFromToken(String token) {
-        return Jwts.parser().setSigningKey(secretKey.getBytes()).parseClaimsJws(token.replace("Bearer ", "")).getBody()
-                .getSubject();
+        VerifiedToken verified = verifyToken(token);
+        return verified == null ? null : verified.getUserCode();
     }
 
     public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
+
+    private static ByteBuffer digest(String compact) {
         try {
-            Jwts.parser().setSigningKey(secretKey.getBytes()).parseClaimsJws(token.replace("Bearer ", ""));
-            return true;
-        } catch (JwtException e) {
-            return false;
+            return ByteBuffer.wrap(
+                    MessageDigest.getInstance("SHA-256").digest(compact.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.getExpiresAtMillis() - System.currentTimeMillis();
+            return remainingMillis <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(Math.min(remainingMillis,
+                    TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE) / 2));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 
@@ -0,0 +1,17 @@
+package com.ajkumarray.margdarshak.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a successful signature and expiry check of a JWT.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private final String userCode;
+
+    private final long expiresAtMillis;
+
+}
@@ -0,0 +1,14 @@
+package com.ajkumarray.margdarshak.service;
+
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Service;
+
+import com.ajkumarray.margdarshak.enums.ExportFormatEnums;
+
+@Service
+public interface UrlExportService {
+
+    void exportUrls(String userCode, ExportFormatEnums format, OutputStream out);
+
+}
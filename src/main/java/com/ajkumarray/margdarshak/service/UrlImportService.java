@@ -0,0 +1,22 @@
+package com.ajkumarray.margdarshak.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ajkumarray.margdarshak.models.response.UrlImportJobResponse;
+import com.ajkumarray.margdarshak.models.response.UrlImportRejectionResponse;
+
+@Service
+public interface UrlImportService {
+
+    UrlImportJobResponse startImport(String userCode, MultipartFile file);
+
+    UrlImportJobResponse getImportJob(String userCode, long jobId);
+
+    UrlImportJobResponse resumeImport(String userCode, long jobId);
+
+    List<UrlImportRejectionResponse> getImportRejections(String userCode, long jobId, long afterLine, int size);
+
+}
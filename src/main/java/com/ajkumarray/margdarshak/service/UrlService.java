@@ -1,24 +1,49 @@
 package com.ajkumarray.margdarshak.service;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
+import com.ajkumarray.margdarshak.enums.StatsGranularityEnums;
+import com.ajkumarray.margdarshak.models.request.UrlBatchRequest;
 import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
+import com.ajkumarray.margdarshak.models.response.UrlBatchResponse;
+import com.ajkumarray.margdarshak.models.response.CursorPagedResponse;
 import com.ajkumarray.margdarshak.models.response.PagedResponse;
 import com.ajkumarray.margdarshak.models.response.UrlMasterResponse;
+import com.ajkumarray.margdarshak.models.response.UrlStatsResponse;
 
 @Service
 public interface UrlService {
 
     UrlMasterResponse createShortUrl(UrlMasterRequest request, String userCode);
 
+    UrlMasterResponse createShortUrl(UrlMasterRequest request, String userCode, String idempotencyKey);
+
+    UrlBatchResponse createShortUrls(UrlBatchRequest request, String userCode);
+
     PagedResponse<UrlMasterResponse> getAllUrls(String userCode, int page, int size);
 
+    CursorPagedResponse<UrlMasterResponse> getUrlsByCursor(String userCode, String cursor, int size,
+            boolean includeTotal);
+
     UrlMasterResponse getUrlDetail(String code);
 
+    UrlStatsResponse getUrlStats(String code, LocalDateTime from, LocalDateTime to,
+            StatsGranularityEnums granularity);
+
     UrlMasterResponse updateUrl(String code, UrlMasterRequest request);
 
     String getOriginalUrl(String code);
 
+    String getCachedOriginalUrl(String code);
+
+    /**
+     * Resolves a redirect from the database without probing the redirect
+     * cache, for callers that already missed it via
+     * {@link #getCachedOriginalUrl(String)}. A resolved url is put in the cache.
+     */
+    String loadOriginalUrl(String code);
+
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.ajkumarray.margdarshak.shortcode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Keyed bijection from sequential ids to fixed-length base62 codes.
+ *
+ * Ids in [0, 62^length) are scrambled by a balanced Feistel network over the
+ * smallest even number of bits covering that range, with cycle walking to stay
+ * inside it, and then written out in base62. Distinct ids therefore always
+ * give distinct codes, while consecutive ids give unrelated-looking codes.
+ * Round keys are derived from the configured secret.
+ */
+public class KeyedBase62Permutation {
+
+    private static final int ROUNDS = 6;
+
+    private final char[] alphabet;
+
+    private final int length;
+
+    private final long domainSize;
+
+    private final int halfBits;
+
+    private final long halfMask;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public KeyedBase62Permutation(String alphabet, int length, String secret) {
+        this.alphabet = alphabet.toCharArray();
+        this.length = length;
+        long size = 1;
+        for (int i = 0; i < length; i++) {
+            size = Math.multiplyExact(size, this.alphabet.length);
+        }
+        this.domainSize = size;
+        int bits = 64 - Long.numberOfLeadingZeros(size - 1);
+        if (bits > 62) {
+            throw new IllegalArgumentException("Code length too large for a 64-bit permutation");
+        }
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        deriveRoundKeys(secret);
+    }
+
+    /**
+     * Number of distinct codes this permutation can produce.
+     *
+     * @return size of the id domain
+     */
+    public long getDomainSize() {
+        return domainSize;
+    }
+
+    /**
+     * Encodes an id as a code of the configured length.
+     *
+     * @param id value in [0, domainSize)
+     * @return base62 code
+     */
+    public String encode(long id) {
+        if (id < 0 || id >= domainSize) {
+            throw new IllegalArgumentException("Id out of range: " + id);
+        }
+        long value = id;
+        do {
+            value = permute(value);
+        } while (value >= domainSize);
+
+        char[] code = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            code[i] = alphabet[(int) (value % alphabet.length)];
+            value /= alphabet.length;
+        }
+        return new String(code);
+    }
+
+    private long permute(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int round = 0; round < ROUNDS; round++) {
+            long next = left ^ (mix(right ^ roundKeys[round]) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static long mix(long value) {
+        long z = value * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private void deriveRoundKeys(String secret) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(secret.getBytes(StandardCharsets.UTF_8));
+            for (int round = 0; round < ROUNDS; round++) {
+                long key = 0;
+                for (int i = 0; i < 8; i++) {
+                    key = (key << 8) | (hash[(round * 5 + i) % hash.length] & 0xff);
+                }
+                roundKeys[round] = key;
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+}
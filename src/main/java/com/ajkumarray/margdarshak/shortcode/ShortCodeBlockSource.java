@@ -0,0 +1,16 @@
+package com.ajkumarray.margdarshak.shortcode;
+
+/**
+ * Source of disjoint id ranges for short code generation.
+ */
+public interface ShortCodeBlockSource {
+
+    /**
+     * Reserves the next block of ids.
+     *
+     * @param blockSize number of ids to reserve
+     * @return first id of the reserved range [start, start + blockSize)
+     */
+    long leaseBlock(int blockSize);
+
+}
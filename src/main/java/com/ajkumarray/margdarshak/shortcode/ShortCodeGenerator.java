@@ -0,0 +1,108 @@
+package com.ajkumarray.margdarshak.shortcode;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.constants.UrlConstants;
+
+/**
+ * Collision-free short code generator. Each node leases a block of sequential
+ * ids from the database and hands them out from memory; ids are turned into
+ * non-sequential codes by a keyed base62 permutation. Generating a code needs
+ * neither a database round trip (except once per block) nor a uniqueness
+ * check.
+ *
+ * The permutation is only as unpredictable as its secret, so a blank or short
+ * url.shortener.code-secret (e.g. an unset template variable) is rejected at
+ * startup.
+ */
+@Component
+public class ShortCodeGenerator {
+
+    static final int MIN_SECRET_LENGTH = 16;
+
+    private final ShortCodeBlockSource blockSource;
+
+    private final KeyedBase62Permutation permutation;
+
+    private final int blockSize;
+
+    private final ReentrantLock leaseLock = new ReentrantLock();
+
+    private volatile Block current = new Block(0, 0);
+
+    public ShortCodeGenerator(ShortCodeBlockSource blockSource,
+            @Value("${url.shortener.code-secret}") String codeSecret,
+            @Value("${url.shortener.code-block-size:1000}") int blockSize) {
+        if (codeSecret == null || codeSecret.strip().length() < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException(
+                    "url.shortener.code-secret must be set to at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        this.blockSource = blockSource;
+        this.permutation = new KeyedBase62Permutation(UrlConstants.SHORT_URL_CHARACTERS,
+                UrlConstants.SHORT_URL_LENGTH, codeSecret);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns a new, never before issued short code.
+     *
+     * @return short code
+     */
+    public String nextCode() {
+        return permutation.encode(nextId());
+    }
+
+    /**
+     * Returns the code for an id without consuming it.
+     *
+     * @param id id within the permutation domain
+     * @return short code
+     */
+    public String codeFor(long id) {
+        return permutation.encode(id);
+    }
+
+    private long nextId() {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            leaseLock.lock();
+            try {
+                if (current == block) {
+                    current = leaseBlock();
+                }
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+    }
+
+    private Block leaseBlock() {
+        long start = blockSource.leaseBlock(blockSize);
+        long end = start + blockSize;
+        if (end > permutation.getDomainSize()) {
+            throw new IllegalStateException("Short code space exhausted");
+        }
+        return new Block(start, end);
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+}
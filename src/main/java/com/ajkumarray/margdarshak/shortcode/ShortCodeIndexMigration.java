@@ -0,0 +1,115 @@
+package com.ajkumarray.margdarshak.shortcode;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.repository.ShortCodeIndexRepository;
+
+/**
+ * Builds the unique index on url_master.code that reclaimed and imported codes
+ * rely on to be rejected when they collide.
+ *
+ * The index is not part of schema.sql: a plain CREATE UNIQUE INDEX blocks
+ * writes to url_master for the whole build and fails startup on databases that
+ * already hold duplicate codes. Instead, once the application is ready, a
+ * background thread checks for duplicates and builds the index CONCURRENTLY,
+ * which lets redirects and creates carry on. When duplicates exist the build
+ * is skipped and a sample is logged; they must be resolved by hand and the
+ * index is tried again on the next start. An invalid index left by a failed
+ * build is dropped and rebuilt, unless another node is building it right now.
+ *
+ * Until {@link #isIndexReady()} the code uniqueness of new rows is only
+ * checked by queries: single creates look the drawn code up before saving, and
+ * bulk creates and imports insert with NOT EXISTS instead of relying on an
+ * ON CONFLICT arbiter. Those checks are not safe against concurrent inserts of
+ * the same code, which only the index guarantees.
+ */
+@Component
+public class ShortCodeIndexMigration {
+
+    private static final int DUPLICATE_SAMPLE_SIZE = 10;
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final ShortCodeIndexRepository indexRepository;
+
+    private final boolean enabled;
+
+    private volatile boolean indexReady;
+
+    public ShortCodeIndexMigration(ShortCodeIndexRepository indexRepository,
+            @Value("${url.shortener.code-index.enabled:true}") boolean enabled) {
+        this.indexRepository = indexRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            Thread.ofPlatform().name("short-code-index").daemon().start(this::migrate);
+        }
+    }
+
+    /**
+     * Picks up an index built by another node, or by hand once duplicates were
+     * resolved.
+     */
+    @Scheduled(fixedDelayString = "${url.shortener.code-index.check-interval-ms:60000}")
+    public void refreshIndexState() {
+        if (indexReady) {
+            return;
+        }
+        try {
+            indexReady = indexRepository.findIndexValid().orElse(false);
+        } catch (DataAccessException e) {
+            log.warn("Failed to check index {}: {}", ShortCodeIndexRepository.INDEX_NAME, e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether the unique index on url_master.code is known to be valid
+     */
+    public boolean isIndexReady() {
+        return indexReady;
+    }
+
+    void migrate() {
+        try {
+            Optional<Boolean> valid = indexRepository.findIndexValid();
+            if (valid.orElse(false)) {
+                indexReady = true;
+                return;
+            }
+            if (indexRepository.isIndexBuildInProgress()) {
+                log.info("Index {} is being built by another node", ShortCodeIndexRepository.INDEX_NAME);
+                return;
+            }
+            List<String> duplicates = indexRepository.findDuplicateCodes(DUPLICATE_SAMPLE_SIZE);
+            if (!duplicates.isEmpty()) {
+                log.error("Skipping index {}: url_master holds duplicate codes, e.g. {}",
+                        ShortCodeIndexRepository.INDEX_NAME, duplicates);
+                return;
+            }
+            if (valid.isPresent()) {
+                indexRepository.dropIndex();
+            }
+            long started = System.currentTimeMillis();
+            indexRepository.createIndex();
+            indexReady = indexRepository.findIndexValid().orElse(false);
+            log.info("Built index {} in {} ms", ShortCodeIndexRepository.INDEX_NAME,
+                    System.currentTimeMillis() - started);
+        } catch (DataAccessException e) {
+            log.error("Failed to build index {}", ShortCodeIndexRepository.INDEX_NAME, e);
+        }
+    }
+
+}
@@ -0,0 +1,267 @@
+package com.ajkumarray.margdarshak.shortcode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.repository.ShortCodeLeaseRepository;
+import com.ajkumarray.margdarshak.repository.UrlRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pool of pre-minted short codes so url creation never pays for code
+ * generation on the request thread.
+ *
+ * A scheduled refiller tops the queue up to the high watermark whenever it
+ * falls below the low watermark. Codes are minted in whole blocks that are
+ * recorded in short_code_lease and kept alive by a heartbeat. If a node dies
+ * with codes still pooled, another node claims the lapsed lease, mints the
+ * block again, drops the codes that already exist in url_master with one bulk
+ * query and pools the rest.
+ *
+ * Leases are owned by a node id that must be unique per running instance,
+ * since heartbeats and shutdown releases cover every lease of that id. Unless
+ * url.shortener.node-id is set, each start generates one from the host name
+ * and a random suffix.
+ *
+ * When the pool is empty, take() falls back to the generator directly.
+ */
+@Component
+public class ShortCodePool {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final ShortCodeGenerator shortCodeGenerator;
+
+    private final ShortCodeBlockSource blockSource;
+
+    private final ShortCodeLeaseRepository leaseRepository;
+
+    private final UrlRepository urlRepository;
+
+    private final String nodeId;
+
+    private final int lowWatermark;
+
+    private final int highWatermark;
+
+    private final int blockSize;
+
+    private final long reclaimAfterSeconds;
+
+    private final ArrayBlockingQueue<PooledCode> codes;
+
+    private final ConcurrentLinkedQueue<Long> completedBlocks = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    private final AtomicBoolean belowLowWatermark = new AtomicBoolean(false);
+
+    private long lastHeartbeatMillis;
+
+    private final Counter lowWatermarkCounter;
+
+    private final Counter exhaustedCounter;
+
+    private final Counter reclaimedCounter;
+
+    public ShortCodePool(ShortCodeGenerator shortCodeGenerator, ShortCodeBlockSource blockSource,
+            ShortCodeLeaseRepository leaseRepository, UrlRepository urlRepository, MeterRegistry meterRegistry,
+            @Value("${url.shortener.node-id:}") String nodeId,
+            @Value("${url.shortener.pool.low-watermark:2000}") int lowWatermark,
+            @Value("${url.shortener.pool.high-watermark:10000}") int highWatermark,
+            @Value("${url.shortener.pool.block-size:1000}") int blockSize,
+            @Value("${url.shortener.pool.reclaim-after-seconds:300}") long reclaimAfterSeconds) {
+        if (lowWatermark >= highWatermark) {
+            throw new IllegalArgumentException("url.shortener.pool.low-watermark must be below the high watermark");
+        }
+        this.shortCodeGenerator = shortCodeGenerator;
+        this.blockSource = blockSource;
+        this.leaseRepository = leaseRepository;
+        this.urlRepository = urlRepository;
+        this.nodeId = nodeId.isBlank() ? generateNodeId() : nodeId;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.blockSize = blockSize;
+        this.reclaimAfterSeconds = reclaimAfterSeconds;
+        this.codes = new ArrayBlockingQueue<>(highWatermark + blockSize);
+
+        Gauge.builder("margdarshak.shortcode.pool.size", codes, ArrayBlockingQueue::size)
+                .description("Pre-minted short codes available").register(meterRegistry);
+        this.lowWatermarkCounter = Counter.builder("margdarshak.shortcode.pool.low")
+                .description("Times the code pool dropped below its low watermark").register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("margdarshak.shortcode.pool.exhausted")
+                .description("Codes generated inline because the pool was empty").register(meterRegistry);
+        this.reclaimedCounter = Counter.builder("margdarshak.shortcode.pool.reclaimed")
+                .description("Unused codes recovered from abandoned leases").register(meterRegistry);
+    }
+
+    /**
+     * Takes an unused short code from the pool.
+     *
+     * @return short code
+     */
+    public String take() {
+        PooledCode pooled = codes.poll();
+        if (pooled == null) {
+            exhaustedCounter.increment();
+            return shortCodeGenerator.nextCode();
+        }
+        if (pooled.block.remaining.decrementAndGet() == 0) {
+            completedBlocks.add(pooled.block.start);
+        }
+        if (codes.size() < lowWatermark && belowLowWatermark.compareAndSet(false, true)) {
+            lowWatermarkCounter.increment();
+            log.warn("Short code pool below low watermark ({} < {})", codes.size(), lowWatermark);
+        }
+        return pooled.code;
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    @Scheduled(fixedDelayString = "${url.shortener.pool.refill-interval-ms:500}")
+    public void refill() {
+        if (!refillLock.tryLock()) {
+            return;
+        }
+        try {
+            markCompletedBlocks();
+            heartbeat();
+            if (codes.size() >= lowWatermark) {
+                return;
+            }
+            while (codes.size() < highWatermark) {
+                if (!reclaimAbandonedBlock()) {
+                    mintBlock();
+                }
+            }
+            belowLowWatermark.set(false);
+        } catch (Exception e) {
+            log.error("Short code pool refill failed: {}", e.getMessage());
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        try {
+            markCompletedBlocks();
+            leaseRepository.releaseAll(nodeId);
+        } catch (Exception e) {
+            log.warn("Short code pool release failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Refreshes this node's open leases a few times per reclaim period, well
+     * before other nodes would consider them abandoned.
+     */
+    private void heartbeat() {
+        long now = System.currentTimeMillis();
+        if (now - lastHeartbeatMillis >= reclaimAfterSeconds * 1000 / 5) {
+            leaseRepository.heartbeat(nodeId);
+            lastHeartbeatMillis = now;
+        }
+    }
+
+    private void mintBlock() {
+        long start = blockSource.leaseBlock(blockSize);
+        long end = start + blockSize;
+        leaseRepository.insertLease(start, end, nodeId);
+        LeasedBlock block = new LeasedBlock(start, blockSize);
+        for (long id = start; id < end; id++) {
+            codes.add(new PooledCode(shortCodeGenerator.codeFor(id), block));
+        }
+    }
+
+    private boolean reclaimAbandonedBlock() {
+        Optional<long[]> claimed = leaseRepository.claimAbandoned(nodeId,
+                LocalDateTime.now().minusSeconds(reclaimAfterSeconds));
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        long start = claimed.get()[0];
+        long end = claimed.get()[1];
+        List<String> minted = new ArrayList<>((int) (end - start));
+        for (long id = start; id < end; id++) {
+            minted.add(shortCodeGenerator.codeFor(id));
+        }
+        Set<String> used = new HashSet<>(urlRepository.findExistingCodes(minted));
+        List<String> unused = minted.stream().filter(code -> !used.contains(code)).toList();
+        if (unused.isEmpty()) {
+            leaseRepository.markCompleted(List.of(start));
+            return true;
+        }
+        LeasedBlock block = new LeasedBlock(start, unused.size());
+        unused.forEach(code -> codes.add(new PooledCode(code, block)));
+        reclaimedCounter.increment(unused.size());
+        log.info("Reclaimed {} unused short codes from abandoned block {}", unused.size(), start);
+        return true;
+    }
+
+    private void markCompletedBlocks() {
+        List<Long> completed = new ArrayList<>();
+        Long blockStart;
+        while ((blockStart = completedBlocks.poll()) != null) {
+            completed.add(blockStart);
+        }
+        if (!completed.isEmpty()) {
+            leaseRepository.markCompleted(completed);
+        }
+    }
+
+    private static String generateNodeId() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isBlank()) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static final class LeasedBlock {
+
+        private final long start;
+
+        private final AtomicInteger remaining;
+
+        private LeasedBlock(long start, int remaining) {
+            this.start = start;
+            this.remaining = new AtomicInteger(remaining);
+        }
+    }
+
+    private static final class PooledCode {
+
+        private final String code;
+
+        private final LeasedBlock block;
+
+        private PooledCode(String code, LeasedBlock block) {
+            this.code = code;
+            this.block = block;
+        }
+    }
+
+}
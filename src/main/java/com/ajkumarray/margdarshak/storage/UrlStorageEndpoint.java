@@ -0,0 +1,92 @@
+package com.ajkumarray.margdarshak.storage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.repository.UrlStorageRepository;
+import com.ajkumarray.margdarshak.util.UrlHelper;
+
+/**
+ * Actuator endpoint reporting url_master size before and after the storage
+ * format rewrite (GET /actuator/urlstorage) and restarting the rewrite pass
+ * (POST /actuator/urlstorage). Admin only.
+ *
+ * Per-format row counts and average destination bytes come from a
+ * TABLESAMPLE of samplePercent of the table's pages, so they stay cheap on
+ * large tables.
+ */
+@Component
+@Endpoint(id = "urlstorage")
+public class UrlStorageEndpoint {
+
+    private final UrlStorageRepository urlStorageRepository;
+
+    private final UrlStorageRewriter urlStorageRewriter;
+
+    private final UrlStorageSchemaMigration schemaMigration;
+
+    private final UrlHelper urlHelper;
+
+    private final double samplePercent;
+
+    public UrlStorageEndpoint(UrlStorageRepository urlStorageRepository, UrlStorageRewriter urlStorageRewriter,
+            UrlStorageSchemaMigration schemaMigration, UrlHelper urlHelper,
+            @Value("${url.storage.report.sample-percent:1}") double samplePercent) {
+        this.urlStorageRepository = urlStorageRepository;
+        this.urlStorageRewriter = urlStorageRewriter;
+        this.schemaMigration = schemaMigration;
+        this.urlHelper = urlHelper;
+        this.samplePercent = samplePercent;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        long[] tableSize = urlStorageRepository.findTableSize();
+        report.put("totalBytes", tableSize[0]);
+        report.put("heapBytes", tableSize[1]);
+        report.put("compressionEnabled", urlHelper.isCompressionEnabled());
+        report.put("compressionMinLength", urlHelper.getCompressionMinLength());
+        report.put("shortUrlColumnPresent", schemaMigration.isShortUrlColumnPresent());
+
+        Map<String, Object> formats = new LinkedHashMap<>();
+        urlStorageRepository.sampleFormats(samplePercent, schemaMigration.isShortUrlColumnPresent())
+                .forEach((format, sample) -> {
+                    Map<String, Object> stats = new LinkedHashMap<>();
+                    stats.put("sampledRows", sample[0]);
+                    stats.put("estimatedRows", Math.round((long) sample[0] * 100 / samplePercent));
+                    stats.put("averageBytes", sample[1]);
+                    formats.put(format, stats);
+                });
+        report.put("samplePercent", samplePercent);
+        report.put("formats", formats);
+
+        Map<String, Object> rewrite = new LinkedHashMap<>();
+        rewrite.put("enabled", urlStorageRewriter.isEnabled());
+        rewrite.put("lastId", urlStorageRewriter.getLastId());
+        rewrite.put("maxId", urlStorageRewriter.getMaxId());
+        rewrite.put("rewritten", urlStorageRewriter.getRewritten());
+        rewrite.put("failed", urlStorageRewriter.getFailed());
+        rewrite.put("destinationBytesBefore", urlStorageRewriter.getBytesBefore());
+        rewrite.put("destinationBytesAfter", urlStorageRewriter.getBytesAfter());
+        long startBytes = urlStorageRewriter.getTableBytesAtStart();
+        if (startBytes >= 0) {
+            rewrite.put("totalBytesAtStart", startBytes);
+        }
+        report.put("rewrite", rewrite);
+        return report;
+    }
+
+    @WriteOperation
+    public Map<String, Object> restart() {
+        urlStorageRewriter.restart();
+        return report();
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.ajkumarray.margdarshak.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
+import com.ajkumarray.margdarshak.models.projection.StoredUrlProjection;
+import com.ajkumarray.margdarshak.repository.UrlStorageRepository;
+import com.ajkumarray.margdarshak.util.UrlHelper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Background rewrite of url_master rows into the current storage format.
+ *
+ * Walks the table by id in windows of batchSize ids and rewrites rows still in
+ * the legacy ENCODED format (decoded to RAW, or COMPRESSED when compression
+ * applies) and, when compression is enabled, RAW rows long enough to be
+ * compressed. The legacy short_url value is cleared on the way. Each update
+ * only matches a row whose url and format are unchanged since it was read, so
+ * concurrent edits win over the rewrite.
+ *
+ * Disabled by default: enable it once every node runs this version. The
+ * pass stops at the highest id seen and resumes as new ids appear; it can be
+ * restarted from the beginning through the urlstorage actuator endpoint.
+ * Space freed by the rewrite is reused by new rows after autovacuum, and is
+ * only returned to the operating system by VACUUM FULL or pg_repack.
+ */
+@Component
+public class UrlStorageRewriter {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final UrlStorageRepository urlStorageRepository;
+
+    private final UrlStorageSchemaMigration schemaMigration;
+
+    private final UrlHelper urlHelper;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final ReentrantLock rewriteLock = new ReentrantLock();
+
+    private volatile long lastId;
+
+    private volatile long maxId;
+
+    /** Total size of url_master when the current pass started, -1 before. */
+    private volatile long tableBytesAtStart = -1;
+
+    private final AtomicLong bytesBefore = new AtomicLong();
+
+    private final AtomicLong bytesAfter = new AtomicLong();
+
+    private final Counter rewrittenCounter;
+
+    private final Counter failedCounter;
+
+    public UrlStorageRewriter(UrlStorageRepository urlStorageRepository, UrlStorageSchemaMigration schemaMigration,
+            UrlHelper urlHelper, MeterRegistry meterRegistry,
+            @Value("${url.storage.rewrite.enabled:false}") boolean enabled,
+            @Value("${url.storage.rewrite.batch-size:1000}") int batchSize) {
+        this.urlStorageRepository = urlStorageRepository;
+        this.schemaMigration = schemaMigration;
+        this.urlHelper = urlHelper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        this.rewrittenCounter = Counter.builder("margdarshak.url.storage.rewritten")
+                .description("Rows rewritten into the current storage format").register(meterRegistry);
+        this.failedCounter = Counter.builder("margdarshak.url.storage.rewrite.failed")
+                .description("Rows whose stored destination could not be rewritten").register(meterRegistry);
+        Gauge.builder("margdarshak.url.storage.rewrite.last.id", this, rewriter -> rewriter.lastId)
+                .description("Highest url_master id visited by the storage rewrite").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${url.storage.rewrite.interval-ms:1000}")
+    public void rewrite() {
+        if (!enabled || !rewriteLock.tryLock()) {
+            return;
+        }
+        try {
+            if (tableBytesAtStart < 0) {
+                tableBytesAtStart = urlStorageRepository.findTableSize()[0];
+            }
+            if (lastId >= maxId) {
+                maxId = urlStorageRepository.findMaxId();
+                if (lastId >= maxId) {
+                    return;
+                }
+            }
+            long upToId = Math.min(lastId + batchSize, maxId);
+            rewriteWindow(lastId, upToId);
+            lastId = upToId;
+            if (lastId >= maxId) {
+                log.info("Url storage rewrite reached id {}: {} rows, {} -> {} destination bytes", lastId,
+                        (long) rewrittenCounter.count(), bytesBefore.get(), bytesAfter.get());
+            }
+        } catch (Exception e) {
+            log.error("Url storage rewrite after id {} failed: {}", lastId, e.getMessage());
+        } finally {
+            rewriteLock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new pass from the first row, e.g. after enabling compression.
+     */
+    public void restart() {
+        rewriteLock.lock();
+        try {
+            lastId = 0;
+            maxId = 0;
+            tableBytesAtStart = -1;
+        } finally {
+            rewriteLock.unlock();
+        }
+    }
+
+    private void rewriteWindow(long afterId, long upToId) {
+        int minCompressLength = urlHelper.isCompressionEnabled() ? Math.max(urlHelper.getCompressionMinLength(), 1)
+                : 0;
+        List<StoredUrlProjection> candidates = urlStorageRepository.findRewriteCandidates(afterId, upToId,
+                minCompressLength);
+        List<StoredUrlProjection> before = new ArrayList<>(candidates.size());
+        List<StoredUrlProjection> after = new ArrayList<>(candidates.size());
+        for (StoredUrlProjection row : candidates) {
+            StoredUrlProjection rewritten = convert(row);
+            if (rewritten != null) {
+                before.add(row);
+                after.add(rewritten);
+            }
+        }
+        if (after.isEmpty()) {
+            return;
+        }
+
+        int updated = urlStorageRepository.rewrite(before, after, schemaMigration.isShortUrlColumnPresent());
+        rewrittenCounter.increment(updated);
+        for (int i = 0; i < after.size(); i++) {
+            bytesBefore.addAndGet(before.get(i).storedBytes());
+            bytesAfter.addAndGet(after.get(i).storedBytes());
+        }
+    }
+
+    /**
+     * Current storage form of a row, or null when it has nothing to gain or its
+     * destination cannot be read.
+     */
+    private StoredUrlProjection convert(StoredUrlProjection row) {
+        String destination;
+        try {
+            destination = urlHelper.toDestination(row.getUrl(), row.getUrlCompressed(), row.getUrlFormat());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("Skipping url_master row {} in storage rewrite: {}", row.getId(), e.getMessage());
+            return null;
+        }
+        byte[] compressed = urlHelper.compressForStorage(destination);
+        if (compressed != null) {
+            return new StoredUrlProjection(row.getId(), null, compressed, UrlFormatEnums.COMPRESSED);
+        }
+        if (row.getUrlFormat() == UrlFormatEnums.RAW) {
+            return null;
+        }
+        return new StoredUrlProjection(row.getId(), destination, null, UrlFormatEnums.RAW);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public long getTableBytesAtStart() {
+        return tableBytesAtStart;
+    }
+
+    public long getRewritten() {
+        return (long) rewrittenCounter.count();
+    }
+
+    public long getFailed() {
+        return (long) failedCounter.count();
+    }
+
+    public long getBytesBefore() {
+        return bytesBefore.get();
+    }
+
+    public long getBytesAfter() {
+        return bytesAfter.get();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.ajkumarray.margdarshak.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ajkumarray.margdarshak.repository.UrlStorageRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Relaxes the url_master columns of the legacy storage format once, at
+ * startup, on databases created before url_format: url becomes nullable TEXT
+ * (compressed rows store NULL there) and the no longer written short_url
+ * column becomes nullable.
+ *
+ * Hibernate's ddl-auto=update only adds columns, so this is done here. The
+ * columns are inspected first and the ALTER only runs when something is left
+ * to change, under a lock timeout, so a node starting next to live traffic
+ * fails fast instead of queueing redirects behind its table lock.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class UrlStorageSchemaMigration {
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final UrlStorageRepository urlStorageRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long lockTimeoutMillis;
+
+    private boolean shortUrlColumnPresent;
+
+    public UrlStorageSchemaMigration(UrlStorageRepository urlStorageRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${url.storage.migration.lock-timeout-ms:5000}") long lockTimeoutMillis) {
+        this.urlStorageRepository = urlStorageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Map<String, String[]> columns = urlStorageRepository.findColumns();
+        List<String> actions = new ArrayList<>();
+        String[] url = columns.get("url");
+        if (url != null && !"text".equals(url[0])) {
+            actions.add("ALTER COLUMN url TYPE TEXT");
+        }
+        if (url != null && "NO".equals(url[1])) {
+            actions.add("ALTER COLUMN url DROP NOT NULL");
+        }
+        String[] shortUrl = columns.get("short_url");
+        shortUrlColumnPresent = shortUrl != null;
+        if (shortUrl != null && "NO".equals(shortUrl[1])) {
+            actions.add("ALTER COLUMN short_url DROP NOT NULL");
+        }
+        if (actions.isEmpty()) {
+            return;
+        }
+
+        String ddl = "ALTER TABLE url_master " + String.join(", ", actions);
+        transactionTemplate.executeWithoutResult(
+                status -> urlStorageRepository.alterWithLockTimeout(ddl, lockTimeoutMillis));
+        log.info("Migrated url_master storage columns: {}", ddl);
+    }
+
+    /**
+     * @return whether url_master still has the short_url column of the legacy
+     *         format
+     */
+    public boolean isShortUrlColumnPresent() {
+        return shortUrlColumnPresent;
+    }
+
+}
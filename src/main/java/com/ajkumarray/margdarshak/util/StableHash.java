@@ -0,0 +1,38 @@
+package com.ajkumarray.margdarshak.util;
+
+/**
+ * 64-bit string hash shared by the in-memory sketches (Bloom filter, Count-Min,
+ * HyperLogLog) and the hashes persisted in url_master.url_hash and
+ * url_idempotency_key.request_hash.
+ *
+ * The algorithm is fixed: FNV-1a (64-bit offset basis and prime) over the
+ * UTF-16 code units of the string, finished with the MurmurHash3 fmix64 mixer
+ * so both 32-bit halves are well distributed. Stored hashes depend on it, so
+ * it must never change; a different hash needs a new method and a migration
+ * of the stored values.
+ */
+public final class StableHash {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private StableHash() {
+        // Prevent instantiation
+    }
+
+    public static long hash64(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
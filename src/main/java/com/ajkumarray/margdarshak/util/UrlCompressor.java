@@ -0,0 +1,79 @@
+package com.ajkumarray.margdarshak.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Raw DEFLATE of destination urls with a preset dictionary of fragments that
+ * recur in long tracking urls, so even a single url compresses well. The first
+ * byte of every compressed value is the dictionary version; a dictionary is
+ * never changed once shipped, a new one gets a new version.
+ */
+public final class UrlCompressor {
+
+    private static final byte DICTIONARY_VERSION = 1;
+
+    /** Deflate matches favour the end of the dictionary, so the most common fragments come last. */
+    private static final byte[] DICTIONARY_V1 = ("&hl=en&lang=en&locale=en_US&currency=USD&country=US&ref_src=twsrc"
+            + "&igshid=&mc_cid=&mc_eid=&msclkid=&dclid=&gclsrc=aw.ds&_ga=&_gl=&yclid=&spm=&si=&s=&t=&v=&id="
+            + "&sessionid=&session_id=&trackingid=&tracking_id=&campaignid=&adgroupid=&adid=&creative=&keyword="
+            + "&matchtype=&network=&device=&placement=&target=&position=&sort=&order=&filter=&category=&product="
+            + "&page=&size=&color=&variant=&sku=&search?q=&query=&redirect=&return_url=&returnUrl=&next=&url="
+            + ".html.htm.php.aspx/index/products/product/category/search/article/articles/blog/news/post/"
+            + "/en/en-us/en-US/amp/share/watch?v=/login/signup/cart/checkout/account/promo/landing/"
+            + ".co.uk/.co.in/.in/.io/.net/.org/.com/https://m.https://www.http://www.https://"
+            + "&fbclid=&gclid=&utm_id=&utm_term=&utm_content=&utm_campaign=&utm_medium=&utm_source="
+            + "?utm_source=").getBytes(StandardCharsets.US_ASCII);
+
+    private UrlCompressor() {
+        // Prevent instantiation
+    }
+
+    public static byte[] compress(String url) {
+        byte[] input = url.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 16);
+            out.write(DICTIONARY_VERSION);
+            byte[] buffer = new byte[Math.max(64, input.length)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] compressed) {
+        if (compressed.length == 0 || compressed[0] != DICTIONARY_VERSION) {
+            throw new IllegalArgumentException("Unknown url dictionary version");
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY_V1);
+            inflater.setInput(compressed, 1, compressed.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[Math.max(256, compressed.length * 4)];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IllegalArgumentException("Truncated compressed url");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed url", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -1,10 +1,15 @@
 package com.ajkumarray.margdarshak.util;
 
-import java.net.URL;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Locale;
 import java.util.Random;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,10 +17,14 @@ import org.springframework.stereotype.Component;
 
 import com.ajkumarray.margdarshak.constants.UrlConstants;
 import com.ajkumarray.margdarshak.entity.UrlMasterEntity;
+import com.ajkumarray.margdarshak.enums.ApplicationEnums;
+import com.ajkumarray.margdarshak.enums.UrlFormatEnums;
 import com.ajkumarray.margdarshak.enums.UrlStatusEnums;
 import com.ajkumarray.margdarshak.exception.ApplicationException;
+import com.ajkumarray.margdarshak.models.projection.UrlCursorPosition;
 import com.ajkumarray.margdarshak.models.request.UrlMasterRequest;
 import com.ajkumarray.margdarshak.models.response.UrlMasterResponse;
+import com.ajkumarray.margdarshak.shortcode.ShortCodePool;
 
 /**
  * Utility class for generating and validating short URLs.
@@ -24,20 +33,27 @@ import com.ajkumarray.margdarshak.models.response.UrlMasterResponse;
 public final class UrlHelper {
 
     @Autowired
-    private CommonFunctionHelper commonFunctionHelper;
+    private ShortCodePool shortCodePool;
 
     private static final Random RANDOM = new Random();
 
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private static final Pattern URL_PATTERN = Pattern.compile(UrlConstants.URL_PATTERN);
+
     @Value("${url.shortener.base-url}")
     private String baseUrl;
 
-    private final int codeLength = 8;
+    @Value("${url.storage.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${url.storage.compression.min-length:200}")
+    private int compressionMinLength;
 
     public UrlMasterEntity prepareUrlEntity(UrlMasterRequest request, String userCode) {
         UrlMasterEntity urlEntity = new UrlMasterEntity();
-        urlEntity.setCode(commonFunctionHelper.generateAlphaNumericCode(codeLength));
-        urlEntity.setUrl(encodeUrl(request.getUrl()));
-        urlEntity.setShortUrl(baseUrl + urlEntity.getCode());
+        urlEntity.setCode(shortCodePool.take());
+        storeDestination(urlEntity, request.getUrl());
         urlEntity.setExpiresAt(LocalDateTime.now().plusDays(request.getExpirationDays()));
         urlEntity.setClickCount(0L);
         urlEntity.setStatus(request.getStatus());
@@ -50,12 +66,36 @@ public final class UrlHelper {
         return urlEntity;
     }
 
+    /**
+     * Checks the url format and expiration range of a create request.
+     *
+     * @param request url request
+     * @return true when the request can be turned into a url entity
+     */
+    public boolean isValidUrlRequest(UrlMasterRequest request) {
+        if (request == null || request.getUrl() == null || request.getExpirationDays() == null) {
+            return false;
+        }
+        int days = request.getExpirationDays();
+        return days >= UrlConstants.MIN_EXPIRATION_DAYS && days <= UrlConstants.MAX_EXPIRATION_DAYS
+                && URL_PATTERN.matcher(request.getUrl()).matches();
+    }
+
+    /**
+     * Replaces the code of a url that has not been saved yet, for retries after
+     * a code collision.
+     */
+    public UrlMasterEntity reassignCode(UrlMasterEntity urlEntity) {
+        urlEntity.setCode(shortCodePool.take());
+        return urlEntity;
+    }
+
     public UrlMasterResponse prepareUrlResponse(UrlMasterEntity urlEntity) {
         UrlMasterResponse urlResponse = new UrlMasterResponse();
         urlResponse.setId(urlEntity.getId());
         urlResponse.setCode(urlEntity.getCode());
-        urlResponse.setShortUrl(urlEntity.getShortUrl());
-        urlResponse.setUrl(decodeUrl(urlEntity.getUrl()));
+        urlResponse.setShortUrl(shortUrlFor(urlEntity.getCode()));
+        urlResponse.setUrl(destinationOf(urlEntity));
         urlResponse.setCreatedAt(urlEntity.getCreatedAt());
         urlResponse.setExpiresAt(urlEntity.getExpiresAt());
         urlResponse.setClickCount(urlEntity.getClickCount());
@@ -66,7 +106,7 @@ public final class UrlHelper {
     }
 
     public UrlMasterEntity prepareUrlUpdateEntity(UrlMasterEntity urlEntity, UrlMasterRequest request) {
-        urlEntity.setUrl(encodeUrl(request.getUrl()));
+        storeDestination(urlEntity, request.getUrl());
         urlEntity.setExpiresAt(LocalDateTime.now().plusDays(request.getExpirationDays()));
         urlEntity.setStatus(request.getStatus());
         urlEntity.setUpdatedAt(LocalDateTime.now());
@@ -85,6 +125,156 @@ public final class UrlHelper {
         return urlEntity;
     }
 
+    /**
+     * Normalises a destination for deduplication without changing where it
+     * leads: the scheme and host are lower-cased, a default port is dropped and
+     * an empty path becomes "/". Urls that cannot be parsed are returned
+     * unchanged.
+     */
+    public String normalizeUrl(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return url;
+            }
+            String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            boolean defaultPort = ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+            StringBuilder normalized = new StringBuilder(url.length()).append(scheme).append("://");
+            if (uri.getRawUserInfo() != null) {
+                normalized.append(uri.getRawUserInfo()).append('@');
+            }
+            normalized.append(uri.getHost().toLowerCase(Locale.ROOT));
+            if (port != -1 && !defaultPort) {
+                normalized.append(':').append(port);
+            }
+            String path = uri.getRawPath();
+            normalized.append(path == null || path.isEmpty() ? "/" : path);
+            if (uri.getRawQuery() != null) {
+                normalized.append('?').append(uri.getRawQuery());
+            }
+            if (uri.getRawFragment() != null) {
+                normalized.append('#').append(uri.getRawFragment());
+            }
+            return normalized.toString();
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Fixed-width hash of the normalised destination, stored in url_hash.
+     */
+    public long hashUrl(String url) {
+        return StableHash.hash64(normalizeUrl(url));
+    }
+
+    /**
+     * Checks whether a stored url leads to the given destination, guarding
+     * url_hash probes against hash collisions.
+     */
+    public boolean isSameDestination(UrlMasterEntity urlEntity, String url) {
+        return normalizeUrl(destinationOf(urlEntity)).equals(normalizeUrl(url));
+    }
+
+    /**
+     * Hash of everything that determines the outcome of a create request, kept
+     * with an Idempotency-Key to detect keys reused for a different request.
+     */
+    public long hashCreateRequest(UrlMasterRequest request) {
+        return StableHash.hash64(normalizeUrl(request.getUrl()) + '|' + request.getExpirationDays() + '|'
+                + request.getStatus());
+    }
+
+    /**
+     * Encodes the listing position after the given url as an opaque cursor.
+     */
+    public String encodeCursor(UrlMasterEntity urlEntity) {
+        String position = urlEntity.getCreatedAt() + CURSOR_SEPARATOR + urlEntity.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(UrlMasterEntity)}.
+     *
+     * @return position of the last url on the previous page
+     */
+    public UrlCursorPosition decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(CURSOR_SEPARATOR);
+            return new UrlCursorPosition(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ApplicationException(MessageTranslator.toLocale(ApplicationEnums.INVALID_CURSOR.getCode()),
+                    ApplicationEnums.INVALID_CURSOR.getCode());
+        }
+    }
+
+    /**
+     * Short url of a code. Derived on every response instead of being stored
+     * with each row.
+     */
+    public String shortUrlFor(String code) {
+        return baseUrl + code;
+    }
+
+    /**
+     * Sets the destination of a url in its storage format: raw, or compressed
+     * when compression is enabled, the url is at least compressionMinLength
+     * characters and the compressed form is actually smaller.
+     */
+    public UrlMasterEntity storeDestination(UrlMasterEntity urlEntity, String url) {
+        byte[] compressed = compressForStorage(url);
+        urlEntity.setUrl(compressed == null ? url : null);
+        urlEntity.setUrlCompressed(compressed);
+        urlEntity.setUrlFormat(compressed == null ? UrlFormatEnums.RAW : UrlFormatEnums.COMPRESSED);
+        urlEntity.setUrlHash(hashUrl(url));
+        return urlEntity;
+    }
+
+    /**
+     * Compressed storage form of a destination, or null when it should be
+     * stored raw.
+     */
+    public byte[] compressForStorage(String url) {
+        if (!compressionEnabled || url.length() < compressionMinLength) {
+            return null;
+        }
+        byte[] compressed = UrlCompressor.compress(url);
+        return compressed.length < url.getBytes(StandardCharsets.UTF_8).length ? compressed : null;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public int getCompressionMinLength() {
+        return compressionMinLength;
+    }
+
+    public String destinationOf(UrlMasterEntity urlEntity) {
+        return toDestination(urlEntity.getUrl(), urlEntity.getUrlCompressed(), urlEntity.getUrlFormat());
+    }
+
+    /**
+     * Destination of a stored url. RAW urls are returned as they are, so the
+     * redirect path does no decoding for them.
+     */
+    public String toDestination(String url, byte[] urlCompressed, UrlFormatEnums urlFormat) {
+        if (urlFormat == UrlFormatEnums.RAW) {
+            return url;
+        }
+        if (urlFormat == UrlFormatEnums.COMPRESSED) {
+            return UrlCompressor.decompress(urlCompressed);
+        }
+        return decodeUrl(url);
+    }
+
+    /**
+     * URLEncoder form of the ENCODED storage format, kept for comparisons with
+     * the rows written before url_format.
+     */
     public String encodeUrl(String url) {
         try {
             return URLEncoder.encode(url, "UTF-8");
@@ -0,0 +1,133 @@
+-- Schema objects not managed by Hibernate (ddl-auto=update).
+-- Runs after Hibernate on every startup, so every statement must be idempotent.
+
+-- Short code id allocator: each node leases blocks of ids from this counter.
+CREATE TABLE IF NOT EXISTS short_code_allocator (
+    name VARCHAR(32) PRIMARY KEY,
+    next_id BIGINT NOT NULL
+);
+
+INSERT INTO short_code_allocator (name, next_id) VALUES ('url', 0) ON CONFLICT (name) DO NOTHING;
+
+-- Blocks of ids reserved by a node's short code pool. Incomplete blocks whose
+-- heartbeat has lapsed belong to a crashed node and are reclaimed by others.
+CREATE TABLE IF NOT EXISTS short_code_lease (
+    block_start BIGINT PRIMARY KEY,
+    block_end BIGINT NOT NULL,
+    node_id VARCHAR(128) NOT NULL,
+    leased_at TIMESTAMP NOT NULL DEFAULT now(),
+    heartbeat_at TIMESTAMP NOT NULL DEFAULT now(),
+    completed BOOLEAN NOT NULL DEFAULT false
+);
+
+CREATE INDEX IF NOT EXISTS idx_short_code_lease_open ON short_code_lease (heartbeat_at) WHERE completed = false;
+
+-- The unique index on url_master.code is built CONCURRENTLY outside this
+-- script, once no duplicates remain (see ShortCodeIndexMigration).
+
+-- Keyset listing of a user's urls, newest first (see UrlRepository.findOwnedPageAfter).
+CREATE INDEX IF NOT EXISTS idx_url_master_owner_listing
+    ON url_master (created_by, status, deleted, created_at DESC, id DESC);
+
+-- Deduplicating creates probe an owner's live links by destination hash
+-- (see UrlRepository.findLiveByOwnerAndUrlHash). Rows created before url_hash
+-- existed have no hash and are never matched.
+CREATE INDEX IF NOT EXISTS idx_url_master_owner_hash ON url_master (created_by, url_hash)
+    WHERE url_hash IS NOT NULL;
+
+-- Idempotency-Key of a create request and the url it produced, so retries of
+-- the same request return the same link. Keys expire after
+-- url.idempotency.retention-hours.
+CREATE TABLE IF NOT EXISTS url_idempotency_key (
+    created_by VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash BIGINT NOT NULL,
+    url_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (created_by, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_url_idempotency_key_created ON url_idempotency_key (created_at);
+
+-- CSV imports of existing short links. Each committed chunk advances
+-- last_committed_line, so a failed job resumes after the last good chunk.
+CREATE TABLE IF NOT EXISTS url_import_job (
+    id BIGSERIAL PRIMARY KEY,
+    created_by VARCHAR(255) NOT NULL,
+    file_name VARCHAR(255),
+    status VARCHAR(16) NOT NULL,
+    rows_read BIGINT NOT NULL DEFAULT 0,
+    rows_imported BIGINT NOT NULL DEFAULT 0,
+    rows_rejected BIGINT NOT NULL DEFAULT 0,
+    last_committed_line BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- COPY target for one import chunk; rows never outlive the chunk transaction.
+CREATE UNLOGGED TABLE IF NOT EXISTS url_import_staging (
+    job_id BIGINT NOT NULL,
+    line_no BIGINT NOT NULL,
+    code VARCHAR(255) NOT NULL,
+    url TEXT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    raw_line TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_url_import_staging_job ON url_import_staging (job_id);
+
+CREATE TABLE IF NOT EXISTS url_import_rejection (
+    job_id BIGINT NOT NULL,
+    line_no BIGINT NOT NULL,
+    reason VARCHAR(64) NOT NULL,
+    raw_line TEXT,
+    PRIMARY KEY (job_id, line_no)
+);
+
+-- Expiry sweep: active links ordered by expiry (see ExpiredUrlRepository).
+CREATE INDEX IF NOT EXISTS idx_url_master_active_expiry ON url_master (expires_at)
+    WHERE status = 'ACTIVE' AND deleted = false;
+
+-- Raw per-click analytics written in batches by ClickEventRecorder.
+CREATE TABLE IF NOT EXISTS click_event (
+    id BIGSERIAL PRIMARY KEY,
+    code VARCHAR(64) NOT NULL,
+    clicked_at TIMESTAMP NOT NULL,
+    referrer VARCHAR(512),
+    user_agent VARCHAR(512),
+    ip_address VARCHAR(64)
+);
+
+CREATE INDEX IF NOT EXISTS idx_click_event_code_time ON click_event (code, clicked_at);
+
+-- Click counts per code in MINUTE, HOUR and DAY buckets, maintained by
+-- ClickRollupAggregator. Stats queries are range scans of the primary key.
+CREATE TABLE IF NOT EXISTS url_click_rollup (
+    code VARCHAR(64) NOT NULL,
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    clicks BIGINT NOT NULL,
+    PRIMARY KEY (code, granularity, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_url_click_rollup_retention ON url_click_rollup (granularity, bucket_start);
+
+-- HyperLogLog unique-visitor sketches per code, all-time and per day,
+-- maintained by UniqueVisitorAggregator. visitors caches the all-time estimate
+-- so detail reads do not need to decode the sketch.
+CREATE TABLE IF NOT EXISTS url_visitor_sketch (
+    code VARCHAR(64) PRIMARY KEY,
+    sketch BYTEA NOT NULL,
+    visitors BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS url_visitor_sketch_daily (
+    code VARCHAR(64) NOT NULL,
+    day DATE NOT NULL,
+    sketch BYTEA NOT NULL,
+    PRIMARY KEY (code, day)
+);
+
+CREATE INDEX IF NOT EXISTS idx_url_visitor_sketch_daily_retention ON url_visitor_sketch_daily (day);